@@ -0,0 +1,111 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.CategoryRepository;
+import jpabook.jpashop.repository.ItemRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 카테고리 하위 트리 상품 조회: 경로 열거 쿼리 한 번(findItemsInSubtree) vs 자식 지연로딩 재귀
+ * - deep: 한 줄로 deepLevels 단계 내려가는 트리
+ * - wide: 루트 아래 자식 wideChildren 개
+ * 카테고리마다 상품 2개씩 연결
+ * (재귀 쪽도 default_batch_fetch_size 로 같은 깊이의 자식은 IN 쿼리로 묶이므로, 차이는 주로 깊이에 비례)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CategoryTreeBenchmark {
+
+    @Param("12")
+    public int deepLevels;
+
+    @Param("500")
+    public int wideChildren;
+
+    private CategoryRepository categoryRepository;
+    private TransactionTemplate readOnly;
+    private Long deepRootId;
+    private Long wideRootId;
+
+    @Setup(Level.Trial)
+    public void setUp(JpashopState state) {
+        categoryRepository = state.bean(CategoryRepository.class);
+        ItemRepository itemRepository = state.bean(ItemRepository.class);
+        TransactionTemplate tx = new TransactionTemplate(state.bean(PlatformTransactionManager.class));
+        readOnly = new TransactionTemplate(state.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        deepRootId = tx.execute(status -> {
+            Category root = newCategory("deep", state, itemRepository);
+            categoryRepository.save(root);
+            Category parent = root;
+            for (int level = 1; level < deepLevels; level++) {
+                Category child = newCategory("deep" + level, state, itemRepository);
+                parent.addChildCategory(child);
+                categoryRepository.save(child);
+                parent = child;
+            }
+            return root.getId();
+        });
+        wideRootId = tx.execute(status -> {
+            Category root = newCategory("wide", state, itemRepository);
+            categoryRepository.save(root);
+            for (int i = 0; i < wideChildren; i++) {
+                Category child = newCategory("wide" + i, state, itemRepository);
+                root.addChildCategory(child);
+                categoryRepository.save(child);
+            }
+            return root.getId();
+        });
+    }
+
+    private Category newCategory(String name, JpashopState state, ItemRepository itemRepository) {
+        Category category = new Category();
+        category.setName(name);
+        category.getItems().add(itemRepository.findOne(state.randomItemId()));
+        category.getItems().add(itemRepository.findOne(state.randomItemId()));
+        return category;
+    }
+
+    @Benchmark
+    public List<Item> deepPathQuery() {
+        return readOnly.execute(status -> categoryRepository.findItemsInSubtree(deepRootId));
+    }
+
+    @Benchmark
+    public Set<Long> deepRecursiveLazyLoad() {
+        return readOnly.execute(status -> collectItemIds(categoryRepository.findOne(deepRootId), new HashSet<>()));
+    }
+
+    @Benchmark
+    public List<Item> widePathQuery() {
+        return readOnly.execute(status -> categoryRepository.findItemsInSubtree(wideRootId));
+    }
+
+    @Benchmark
+    public Set<Long> wideRecursiveLazyLoad() {
+        return readOnly.execute(status -> collectItemIds(categoryRepository.findOne(wideRootId), new HashSet<>()));
+    }
+
+    private static Set<Long> collectItemIds(Category category, Set<Long> itemIds) {
+        for (Item item : category.getItems()) {
+            itemIds.add(item.getId());
+        }
+        for (Category child : category.getChild()) {
+            collectItemIds(child, itemIds);
+        }
+        return itemIds;
+    }
+}
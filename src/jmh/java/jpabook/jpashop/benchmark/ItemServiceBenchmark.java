@@ -0,0 +1,25 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.service.ItemService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ItemService 상품 수정 (변경 감지 + 2차 캐시 갱신)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ItemServiceBenchmark {
+
+    @Benchmark
+    public void updateItem(JpashopState state) {
+        Long itemId = state.randomItemId();
+        int price = ThreadLocalRandom.current().nextInt(1000, 100_000);
+        state.bean(ItemService.class).updateItem(itemId, "book" + itemId, price, Integer.MAX_VALUE / 2);
+    }
+}
@@ -0,0 +1,98 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.JpashopApplication;
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 벤치마크 공통 상태
+ * 내장 H2 메모리 DB 로 JPA 계층(웹 제외)을 띄우고 회원/상품/주문 데이터를 미리 넣어둔다.
+ * 데이터 크기는 @Param (gradle -PjmhMembers 등) 으로 조절
+ */
+@State(Scope.Benchmark)
+public class JpashopState {
+
+    @Param("1000")
+    public int members;
+
+    @Param("100")
+    public int items;
+
+    @Param("5000")
+    public int orders;
+
+    public ConfigurableApplicationContext context;
+    public final List<Long> memberIds = new ArrayList<>();
+    public final List<Long> itemIds = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(JpashopApplication.class)
+                .web(WebApplicationType.NONE)
+                .logStartupInfo(false)
+                .properties(Map.of(
+                        "spring.datasource.url", "jdbc:h2:mem:bench;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.username", "sa",
+                        "spring.datasource.password", "",
+                        "spring.jpa.properties.hibernate.format_sql", "false",
+                        "logging.level.root", "warn"))
+                .run();
+        seed();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    public <T> T bean(Class<T> type) {
+        return context.getBean(type);
+    }
+
+    public Long randomMemberId() {
+        return memberIds.get(ThreadLocalRandom.current().nextInt(memberIds.size()));
+    }
+
+    public Long randomItemId() {
+        return itemIds.get(ThreadLocalRandom.current().nextInt(itemIds.size()));
+    }
+
+    private void seed() {
+        MemberService memberService = bean(MemberService.class);
+        ItemService itemService = bean(ItemService.class);
+        OrderService orderService = bean(OrderService.class);
+
+        for (int i = 0; i < members; i++) {
+            Member member = new Member();
+            member.setName("member" + i);
+            member.setAddress(new Address("서울", "거리 " + i, "12345"));
+            memberIds.add(memberService.join(member));
+        }
+        for (int i = 0; i < items; i++) {
+            Book book = new Book();
+            book.setName("book" + i);
+            book.setPrice(1000 + i);
+            book.setStockQuantity(Integer.MAX_VALUE / 2); //측정 중 재고 부족이 나지 않도록
+            book.setAuthor("author" + i);
+            book.setIsbn("isbn" + i);
+            itemService.saveItem(book);
+            itemIds.add(book.getId());
+        }
+        for (int i = 0; i < orders; i++) {
+            orderService.order(randomMemberId(), randomItemId(), 1);
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.MemberNameMatch;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.OrderRepository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 동적 쿼리 방식 비교: JPQL 문자열(findAllByString) vs Criteria(findAllByCriteria)
+ * 검색 조건은 주문 상태 + 회원 이름 앞부분
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderRepositoryBenchmark {
+
+    private OrderRepository orderRepository;
+    private TransactionTemplate readOnly;
+    private OrderSearch orderSearch;
+
+    @Setup(Level.Trial)
+    public void setUp(JpashopState state) {
+        orderRepository = state.bean(OrderRepository.class);
+        readOnly = new TransactionTemplate(state.bean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        orderSearch = new OrderSearch();
+        orderSearch.setOrderStatus(OrderStatus.ORDER);
+        orderSearch.setMemberName("member1");
+        orderSearch.setMemberNameMatch(MemberNameMatch.PREFIX); //기본값은 CONTAINS
+    }
+
+    @Benchmark
+    public List<Order> findAllByString() {
+        return readOnly.execute(status -> orderRepository.findAllByString(orderSearch));
+    }
+
+    @Benchmark
+    public List<Order> findAllByCriteria() {
+        return readOnly.execute(status -> orderRepository.findAllByCriteria(orderSearch));
+    }
+}
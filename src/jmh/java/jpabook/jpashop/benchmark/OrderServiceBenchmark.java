@@ -0,0 +1,36 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.repository.CursorPage;
+import jpabook.jpashop.repository.query.OrderListRow;
+import jpabook.jpashop.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * OrderService 주문 생성 / 주문 검색
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class OrderServiceBenchmark {
+
+    @Benchmark
+    public Long order(JpashopState state) {
+        return state.bean(OrderService.class).order(state.randomMemberId(), state.randomItemId(), 1);
+    }
+
+    @Benchmark
+    public CursorPage<Order> findOrders(JpashopState state) {
+        return state.bean(OrderService.class).findOrders(new OrderSearch());
+    }
+
+    @Benchmark
+    public CursorPage<OrderListRow> findOrderRows(JpashopState state) {
+        return state.bean(OrderService.class).findOrderRows(new OrderSearch());
+    }
+}
@@ -0,0 +1,70 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderItem;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.repository.CursorPage;
+import jpabook.jpashop.service.OrderService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 주문 1000건 조회 (findOrders 100건 x 10페이지, 주문상품까지 로딩) - 읽기 전용 트랜잭션 vs 일반 트랜잭션
+ * 읽기 전용은 엔티티 스냅샷을 만들지 않고 커밋 시 변경 감지(flush)도 하지 않는다.
+ * 연산당 할당량은 gc 프로파일러의 gc.alloc.rate.norm 참고 (orders 파라미터는 1000 이상으로)
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ReadOnlyLoadBenchmark {
+
+    private static final int PAGES = 10;
+
+    private OrderService orderService;
+    private TransactionTemplate readOnly;
+    private TransactionTemplate readWrite;
+
+    @Setup(Level.Trial)
+    public void setUp(JpashopState state) {
+        orderService = state.bean(OrderService.class);
+        PlatformTransactionManager transactionManager = state.bean(PlatformTransactionManager.class);
+        readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        readWrite = new TransactionTemplate(transactionManager);
+    }
+
+    @Benchmark
+    public Integer readOnlyTransaction() {
+        return readOnly.execute(status -> loadOrders());
+    }
+
+    @Benchmark
+    public Integer readWriteTransaction() {
+        return readWrite.execute(status -> loadOrders());
+    }
+
+    private int loadOrders() {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setSize(OrderSearch.MAX_SIZE);
+        int loaded = 0;
+        for (int page = 0; page < PAGES; page++) {
+            CursorPage<Order> orders = orderService.findOrders(orderSearch);
+            for (Order order : orders.getContent()) {
+                for (OrderItem orderItem : order.getOrderItems()) {
+                    loaded += orderItem.getItem().getPrice() > 0 ? 1 : 0;
+                }
+            }
+            if (!orders.hasNext()) {
+                break;
+            }
+            orderSearch.setCursor(orders.getNextCursor());
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,41 @@
+package jpabook.jpashop.benchmark;
+
+import jpabook.jpashop.service.OrderFacade;
+import jpabook.jpashop.service.StockMode;
+import jpabook.jpashop.service.StockProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 한 상품에 동시 주문이 몰릴 때 재고 차감 방식 비교
+ * CONDITIONAL_UPDATE: 주문마다 UPDATE + 커밋 (같은 행 잠금을 순서대로 기다림)
+ * COALESCED: 같은 상품 요청을 모아 UPDATE 한 번 + 커밋 한 번 (주문 트랜잭션 전에 OrderFacade 에서 차감)
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+@Threads(32)
+@State(Scope.Benchmark)
+public class StockContentionBenchmark {
+
+    @Param({"CONDITIONAL_UPDATE", "COALESCED"})
+    public StockMode mode;
+
+    private OrderFacade orderFacade;
+    private Long hotItemId;
+
+    @Setup(Level.Trial)
+    public void setUp(JpashopState state) {
+        state.bean(StockProperties.class).setMode(mode);
+        orderFacade = state.bean(OrderFacade.class);
+        hotItemId = state.itemIds.get(0);
+    }
+
+    @Benchmark
+    public Long orderHotItem(JpashopState state) {
+        return orderFacade.order(state.randomMemberId(), hotItemId, 1);
+    }
+}
@@ -0,0 +1,31 @@
+package jpabook.jpashop.controller;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+public class CartForm {
+    private Long memberId;
+    private List<CartLine> lines = new ArrayList<>();
+
+    @Data
+    public static class CartLine {
+        private Long itemId;
+        private int count;
+    }
+
+    /** 선택하지 않은 줄은 빼고, 같은 상품은 수량을 합친다 */
+    public Map<Long, Integer> toItemCounts() {
+        Map<Long, Integer> itemCounts = new LinkedHashMap<>();
+        for (CartLine line : lines) {
+            if (line.getItemId() != null && line.getCount() > 0) {
+                itemCounts.merge(line.getItemId(), line.getCount(), Integer::sum);
+            }
+        }
+        return itemCounts;
+    }
+}
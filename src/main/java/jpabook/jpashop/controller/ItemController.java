@@ -1,19 +1,30 @@
 package jpabook.jpashop.controller;
 
 import jpabook.jpashop.domain.item.Book;
-import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.query.ItemListRow;
+import jpabook.jpashop.search.CatalogIndex;
+import jpabook.jpashop.search.CatalogSearchHit;
+import jpabook.jpashop.service.ItemImportResult;
+import jpabook.jpashop.service.ItemImportService;
 import jpabook.jpashop.service.ItemService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/items")
 public class ItemController {
     private final ItemService itemService;
+    private final ItemImportService itemImportService;
+    private final CatalogIndex catalogIndex;
+
+    private static final int MAX_SEARCH_LIMIT = 100;
 
     @GetMapping("/new")
     public String createForm(Model model) {
@@ -33,9 +44,34 @@ public class ItemController {
         return "redirect:/items";
     }
 
+    /**
+     * 상품 일괄 등록 (multipart file: .csv 또는 .jsonl)
+     */
+    @PostMapping("/import")
+    @ResponseBody
+    public ItemImportResult importItems(@RequestParam("file") MultipartFile file) throws IOException {
+        String filename = file.getOriginalFilename();
+        ItemImportService.Format format = filename != null && filename.endsWith(".jsonl")
+                ? ItemImportService.Format.JSONL
+                : ItemImportService.Format.CSV;
+        try (InputStream in = file.getInputStream()) {
+            return itemImportService.importItems(in, format);
+        }
+    }
+
+    /**
+     * 상품 검색 (이름/저자/ISBN/아티스트/감독/배우, 단어 앞부분 일치, 메모리 색인)
+     */
+    @GetMapping("/search")
+    @ResponseBody
+    public List<CatalogSearchHit> search(@RequestParam("q") String query,
+                                         @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return catalogIndex.search(query, Math.min(limit, MAX_SEARCH_LIMIT));
+    }
+
     @GetMapping
     public String list(Model model) {
-        List<Item> items = itemService.findItems();
+        List<ItemListRow> items = itemService.findItemRows();
         model.addAttribute("items", items);
         return "items/itemList";
     }
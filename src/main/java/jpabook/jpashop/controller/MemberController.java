@@ -2,21 +2,30 @@ package jpabook.jpashop.controller;
 
 import jpabook.jpashop.domain.Address;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.CursorPage;
+import jpabook.jpashop.repository.query.MemberListRow;
+import jpabook.jpashop.repository.query.MemberOrderRow;
 import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import jakarta.validation.Valid;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
 @Controller
 @RequiredArgsConstructor
 @RequestMapping("/members")
 public class MemberController {
     private final MemberService memberService;
+    private final OrderService orderService;
 
     @GetMapping("/new")
     public String createForm(Model model) {
@@ -40,9 +49,27 @@ public class MemberController {
     //추가
     @GetMapping
     public String list(Model model) {
-        List<Member> members = memberService.findMembers();
+        List<MemberListRow> members = memberService.findMemberRows();
         model.addAttribute("members", members);
         return "members/memberList";
     }
 
+    /** 회원 주문 내역 (키셋 페이징 - 회원 주문 수와 관계없이 한 페이지씩 조회) */
+    @GetMapping("/{memberId}/orders")
+    public String orderHistory(@PathVariable("memberId") Long memberId,
+                               @RequestParam(value = "cursor", required = false) String cursor,
+                               @RequestParam(value = "size", defaultValue = "20") int size,
+                               Model model) {
+        Member member = memberService.findOne(memberId);
+        if (member == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "회원이 없습니다. id=" + memberId);
+        }
+        CursorPage<MemberOrderRow> page = orderService.findMemberOrders(memberId, cursor, size);
+        model.addAttribute("member", member);
+        model.addAttribute("orders", page.getContent());
+        model.addAttribute("nextCursor", page.getNextCursor());
+        model.addAttribute("size", size);
+        return "members/orderHistory";
+    }
+
 }
\ No newline at end of file
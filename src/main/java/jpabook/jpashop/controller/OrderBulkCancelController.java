@@ -0,0 +1,38 @@
+package jpabook.jpashop.controller;
+
+import jpabook.jpashop.service.BulkCancelResult;
+import jpabook.jpashop.service.OrderBulkCancelService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
+
+/**
+ * 주문 일괄 취소 (JSON)
+ * - POST /orders/bulk-cancel  body: [1, 2, 3]
+ * - POST /orders/bulk-cancel/search?memberName=kim  (이름이 정확히 일치하는 회원, 비어 있으면 400)
+ */
+@RestController
+@RequiredArgsConstructor
+public class OrderBulkCancelController {
+    private final OrderBulkCancelService orderBulkCancelService;
+
+    @PostMapping("/orders/bulk-cancel")
+    public BulkCancelResult cancelByIds(@RequestBody List<Long> orderIds) {
+        return orderBulkCancelService.cancelOrders(orderIds);
+    }
+
+    @PostMapping("/orders/bulk-cancel/search")
+    public BulkCancelResult cancelBySearch(@RequestParam(value = "memberName", required = false) String memberName) {
+        if (!StringUtils.hasText(memberName)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "일괄 취소할 회원 이름(memberName)을 지정해야 합니다.");
+        }
+        return orderBulkCancelService.cancelMemberOrders(memberName);
+    }
+}
@@ -1,28 +1,38 @@
 package jpabook.jpashop.controller;
 
-import jpabook.jpashop.domain.Member;
-import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderSearch;
-import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.CursorPage;
+import jpabook.jpashop.repository.query.ItemListRow;
+import jpabook.jpashop.repository.query.MemberListRow;
+import jpabook.jpashop.repository.query.OrderListRow;
 import jpabook.jpashop.service.ItemService;
 import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderFacade;
+import jpabook.jpashop.service.OrderIntakeService;
 import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.service.OrderTicket;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 import java.util.List;
 @Controller
 @RequiredArgsConstructor
 public class OrderController {
     private final OrderService orderService;
+    private final OrderFacade orderFacade;
+    private final OrderIntakeService orderIntakeService;
     private final MemberService memberService;
     private final ItemService itemService;
 
+    private static final int CART_LINES = 5; //장바구니 화면의 상품 입력 줄 수
+
     @GetMapping(value = "/order")
     public String createForm(Model model) {
-        List<Member> members = memberService.findMembers();
-        List<Item> items = itemService.findItems();
+        List<MemberListRow> members = memberService.findMemberRows();
+        List<ItemListRow> items = itemService.findItemRows();
         model.addAttribute("members", members);
         model.addAttribute("items", items);
         return "order/orderForm";
@@ -32,21 +42,57 @@ public class OrderController {
     public String order(@RequestParam("memberId") Long memberId,
                         @RequestParam("itemId") Long itemId,
                         @RequestParam("count") int count) {
-        orderService.order(memberId, itemId, count);
+        if (orderIntakeService.isEnabled()) {
+            // 비동기 접수: 큐에 넣고 토큰으로 결과 조회
+            String token = orderIntakeService.submit(memberId, itemId, count);
+            return "redirect:/order/tickets/" + token;
+        }
+        orderFacade.order(memberId, itemId, count);
+        return "redirect:/orders";
+    }
+
+    /** 비동기 주문 처리 결과 조회 (PENDING → COMPLETED / FAILED) */
+    @GetMapping(value = "/order/tickets/{token}")
+    @ResponseBody
+    public OrderTicket orderTicket(@PathVariable("token") String token) {
+        OrderTicket ticket = orderIntakeService.findTicket(token);
+        if (ticket == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "주문 토큰이 없거나 만료되었습니다.");
+        }
+        return ticket;
+    }
+
+    @GetMapping(value = "/order/cart")
+    public String createCartForm(Model model) {
+        CartForm form = new CartForm();
+        for (int i = 0; i < CART_LINES; i++) {
+            form.getLines().add(new CartForm.CartLine());
+        }
+        model.addAttribute("form", form);
+        model.addAttribute("members", memberService.findMemberRows());
+        model.addAttribute("items", itemService.findItemRows());
+        return "order/cartForm";
+    }
+
+    /** 여러 상품을 한 주문(한 트랜잭션)으로 주문 */
+    @PostMapping(value = "/order/cart")
+    public String orderCart(@ModelAttribute("form") CartForm form) {
+        orderFacade.order(form.getMemberId(), form.toItemCounts());
         return "redirect:/orders";
     }
 
     @GetMapping(value = "/orders")
     public String orderList(@ModelAttribute("orderSearch") OrderSearch
                                     orderSearch, Model model) {
-        List<Order> orders = orderService.findOrders(orderSearch);
-        model.addAttribute("orders", orders);
+        CursorPage<OrderListRow> page = orderService.findOrderRows(orderSearch);
+        model.addAttribute("orders", page.getContent());
+        model.addAttribute("nextCursor", page.getNextCursor());
         return "order/orderList";
     }
 
     @PostMapping(value = "/orders/{orderId}/cancel")
     public String cancelOrder(@PathVariable("orderId") Long orderId) {
-        orderService.cancelOrder(orderId);
+        orderFacade.cancelOrder(orderId);
         return "redirect:/orders";
     }
 }
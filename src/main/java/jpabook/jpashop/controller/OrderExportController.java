@@ -0,0 +1,95 @@
+package jpabook.jpashop.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import jakarta.servlet.http.HttpServletResponse;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.repository.query.OrderExportRow;
+import jpabook.jpashop.service.OrderService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 주문 내보내기 (CSV / JSON)
+ * 조회 결과를 모으지 않고 한 행씩 응답 스트림에 바로 쓴다.
+ */
+@Controller
+@RequiredArgsConstructor
+public class OrderExportController {
+    private final OrderService orderService;
+    private final ObjectMapper objectMapper;
+
+    @GetMapping(value = "/orders/export")
+    public void export(@ModelAttribute("orderSearch") OrderSearch orderSearch,
+                       @RequestParam(value = "format", defaultValue = "csv") String format,
+                       HttpServletResponse response) throws IOException {
+        boolean json = "json".equalsIgnoreCase(format);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setContentType(json ? "application/json" : "text/csv");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"orders." + (json ? "json" : "csv") + "\"");
+
+        try (Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8))) {
+            if (json) {
+                writeJson(orderSearch, writer);
+            } else {
+                writeCsv(orderSearch, writer);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void writeJson(OrderSearch orderSearch, Writer writer) throws IOException {
+        try (SequenceWriter rows = objectMapper.writer().writeValuesAsArray(writer)) {
+            orderService.exportOrders(orderSearch, row -> {
+                try {
+                    rows.write(row);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        }
+    }
+
+    private void writeCsv(OrderSearch orderSearch, Writer writer) throws IOException {
+        writer.write("orderId,orderDate,status,memberName,itemName,orderPrice,count\n");
+        orderService.exportOrders(orderSearch, row -> {
+            try {
+                writer.write(toCsvLine(row));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    private static String toCsvLine(OrderExportRow row) {
+        return row.getOrderId() + "," + row.getOrderDate() + "," + row.getStatus() + ","
+                + csv(row.getMemberName()) + "," + csv(row.getItemName()) + ","
+                + row.getOrderPrice() + "," + row.getCount() + "\n";
+    }
+
+    /** 쉼표, 따옴표, 줄바꿈(\r, \n)이 있으면 따옴표로 감싸고 따옴표는 두 번 쓴다 (RFC 4180) */
+    private static String csv(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return "\"" + value.replace("\"", "\"\"") + "\"";
+    }
+}
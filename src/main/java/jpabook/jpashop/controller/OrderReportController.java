@@ -0,0 +1,45 @@
+package jpabook.jpashop.controller;
+
+import jpabook.jpashop.repository.query.DailyRevenueRow;
+import jpabook.jpashop.repository.query.MemberRevenueRow;
+import jpabook.jpashop.repository.query.StatusRevenueRow;
+import jpabook.jpashop.service.OrderReportService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 주문 매출 리포트 (JSON)
+ * 예) /orders/reports/daily?from=2024-01-01&to=2024-01-31
+ */
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/orders/reports")
+public class OrderReportController {
+    private final OrderReportService orderReportService;
+
+    @GetMapping("/daily")
+    public List<DailyRevenueRow> daily(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                       @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return orderReportService.dailyRevenue(from, to);
+    }
+
+    @GetMapping("/status")
+    public List<StatusRevenueRow> status(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                         @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return orderReportService.statusRevenue(from, to);
+    }
+
+    @GetMapping("/members")
+    public List<MemberRevenueRow> members(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                          @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                          @RequestParam(defaultValue = "10") int limit) {
+        return orderReportService.topMemberRevenue(from, to, limit);
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.datasource;
+
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * 트랜잭션의 readOnly 여부로 primary / replica 를 고른다.
+ * 실제 연결은 첫 SQL 을 실행할 때 얻으므로, 그 전에 트랜잭션 매니저가 설정한 readOnly 를 보고 고를 수 있다.
+ * (@Transactional(readOnly = true) → ReplicaDataSource, 그 외 → primary)
+ */
+public class ReadWriteRoutingDataSource extends LazyConnectionDataSourceProxy implements Closeable {
+
+    private final DataSource primary;
+    private final ReplicaDataSource replicas;
+
+    public ReadWriteRoutingDataSource(DataSource primary, ReplicaDataSource replicas) {
+        super(primary);
+        setReadOnlyDataSource(replicas);
+        this.primary = primary;
+        this.replicas = replicas;
+    }
+
+    @Override
+    public void close() throws IOException {
+        replicas.close();
+        if (primary instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
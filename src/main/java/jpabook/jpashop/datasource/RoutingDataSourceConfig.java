@@ -0,0 +1,56 @@
+package jpabook.jpashop.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * jpashop.datasource.routing.enabled=true 일 때 spring.datasource 대신 읽기/쓰기 분리 DataSource 사용
+ * replica 를 늘리면 읽기 트래픽이 replica 수만큼 나뉜다.
+ * OSIV(spring.jpa.open-in-view)를 켜면 요청 하나가 EntityManager 와 첫 연결을 끝까지 잡고 있어서,
+ * readOnly 조회 뒤의 쓰기 트랜잭션이 replica 연결을 그대로 쓰게 된다. 그래서 OSIV 가 켜져 있으면 시작하지 않는다.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "jpashop.datasource.routing", name = "enabled", havingValue = "true")
+public class RoutingDataSourceConfig {
+
+    public RoutingDataSourceConfig(@Value("${spring.jpa.open-in-view:true}") boolean openInView) {
+        if (openInView) {
+            throw new IllegalStateException("jpashop.datasource.routing.enabled=true 이면 " +
+                    "spring.jpa.open-in-view=false 로 설정해야 합니다. (OSIV 는 요청 내내 첫 연결을 재사용해서 쓰기가 replica 로 갈 수 있음)");
+        }
+    }
+
+    @Bean
+    public ReadWriteRoutingDataSource dataSource(RoutingDataSourceProperties properties) {
+        HikariDataSource primary = pool("primary", properties.getPrimary(), false);
+
+        List<ReplicaDataSource.Replica> replicas = new ArrayList<>();
+        for (int i = 0; i < properties.getReplicas().size(); i++) {
+            String name = "replica-" + i;
+            replicas.add(new ReplicaDataSource.Replica(name, pool(name, properties.getReplicas().get(i), true)));
+        }
+        ReplicaDataSource replicaDataSource = new ReplicaDataSource(primary, replicas,
+                properties.getLagQuery(), properties.getMaxLag(), properties.getHealthCheckInterval());
+        return new ReadWriteRoutingDataSource(primary, replicaDataSource);
+    }
+
+    private static HikariDataSource pool(String name, RoutingDataSourceProperties.Node node, boolean readOnly) {
+        HikariDataSource dataSource = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(node.getUrl())
+                .username(node.getUsername())
+                .password(node.getPassword())
+                .build();
+        dataSource.setPoolName(name);
+        dataSource.setMaximumPoolSize(node.getMaximumPoolSize());
+        dataSource.setReadOnly(readOnly);
+        return dataSource;
+    }
+}
@@ -0,0 +1,33 @@
+package jpabook.jpashop.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 읽기/쓰기 분리 설정 (application.yml 의 jpashop.datasource.routing.*)
+ * enabled=false 면 spring.datasource 하나만 사용
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jpashop.datasource.routing")
+public class RoutingDataSourceProperties {
+    private boolean enabled = false;
+    private Node primary = new Node(); //쓰기 (readOnly 가 아닌 트랜잭션)
+    private List<Node> replicas = new ArrayList<>(); //읽기 (readOnly 트랜잭션, 돌아가며 사용)
+    private Duration healthCheckInterval = Duration.ofSeconds(5);
+    private String lagQuery; //복제 지연(초)을 돌려주는 SQL (없으면 연결만 확인)
+    private Duration maxLag = Duration.ofSeconds(5); //이보다 뒤처진 replica 는 빼고 사용
+
+    @Data
+    public static class Node {
+        private String url;
+        private String username;
+        private String password;
+        private int maximumPoolSize = 10;
+    }
+}
@@ -2,15 +2,23 @@ package jpabook.jpashop.domain;
 
 import jakarta.persistence.*;
 import jpabook.jpashop.domain.item.Item;
-import lombok.Data;
 import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
 @Entity
-@Data
+@Table(indexes = @Index(name = "idx_category_path", columnList = "path")) //하위 트리 조회 (path like '..%')
+@Getter
+@Setter
+@ToString(exclude = {"items", "parent", "child"})
 public class Category {
-    @Id @GeneratedValue
+    public static final String PATH_SEPARATOR = "/";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "category_seq_gen")
+    @SequenceGenerator(name = "category_seq_gen", sequenceName = "category_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name="category_id")
     private Long id;
 
@@ -33,10 +41,42 @@ public class Category {
     @OneToMany(mappedBy = "parent") //일대다 관계 매핑 (부모 Category 입장에서 여러 자식 Category를 가질 수 있음)
     private List<Category> child=new ArrayList<>();
 
+    //경로 열거(materialized path): 조상 id 를 루트부터 나열 (루트 "/", 자식 "/1/", 손자 "/1/5/")
+    //하위 트리 = path 가 getSubtreePathPrefix() 로 시작하는 카테고리 → 쿼리 한 번
+    @Column(length = 1000)
+    private String path;
+    private int depth; //루트 0
+
 
     //==연관관계 메서드==//
     public void addChildCategory(Category child) {
         this.child.add(child);
         child.setParent(this);
+        if (this.id != null) {
+            child.refreshPath();
+        }
+    }
+
+    /** 이 카테고리 아래 (자신 제외) 모든 카테고리의 path 앞부분 */
+    public String getSubtreePathPrefix() {
+        return path + id + PATH_SEPARATOR;
+    }
+
+    /**
+     * 부모 기준으로 path, depth 계산
+     * id 는 저장 시점에 정해지므로 부모를 먼저 저장해야 한다.
+     */
+    @PrePersist
+    public void refreshPath() {
+        if (parent == null) {
+            this.path = PATH_SEPARATOR;
+            this.depth = 0;
+            return;
+        }
+        if (parent.getId() == null || parent.getPath() == null) {
+            throw new IllegalStateException("부모 카테고리를 먼저 저장해야 합니다.");
+        }
+        this.path = parent.getSubtreePathPrefix();
+        this.depth = parent.getDepth() + 1;
     }
 }
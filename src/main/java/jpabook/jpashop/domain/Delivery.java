@@ -1,13 +1,21 @@
 package jpabook.jpashop.domain;
 
 import jakarta.persistence.*;
-import lombok.Data;
 import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
 
 @Entity
-@Data
+@Table(indexes = @Index(name = "idx_delivery_status_claimed_at", columnList = "status, claimed_at")) //배송 대기 건 선점 조회용
+@Getter
+@Setter
+@ToString(exclude = "order")
 public class Delivery {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "delivery_seq_gen")
+    @SequenceGenerator(name = "delivery_seq_gen", sequenceName = "delivery_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name="delivery_id")
     private Long id;
 
@@ -20,4 +28,10 @@ public class Delivery {
     @Enumerated(EnumType.STRING) // EnumType.ORDINAL 절대 사용하지 말자!
     private DeliveryStatus status; //READY,COMP
 
+    //배송 처리 선점 (여러 인스턴스/워커가 같은 배송을 중복 처리하지 않도록, 처리 끝나면 비움)
+    @Column(name="claimed_by")
+    private String claimedBy;
+    @Column(name="claimed_at")
+    private LocalDateTime claimedAt;
+
 }
@@ -0,0 +1,15 @@
+package jpabook.jpashop.domain;
+
+/**
+ * 엔티티 공통 식별자 생성 설정
+ * 모든 엔티티는 자기 시퀀스를 ALLOCATION_SIZE 단위로 한 번에 할당받아 메모리에서 나눠 쓴다.
+ * (시퀀스 호출은 ALLOCATION_SIZE 건당 1번, IDENTITY 와 달리 insert 배치 가능)
+ * 블록을 나눠 쓰는 방식은 application.yml 의 hibernate.id.optimizer.pooled.preferred 로 선택
+ */
+public final class IdGeneration {
+
+    public static final int ALLOCATION_SIZE = 50;
+
+    private IdGeneration() {
+    }
+}
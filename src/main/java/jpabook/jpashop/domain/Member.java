@@ -1,16 +1,23 @@
 package jpabook.jpashop.domain;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Data
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_member_name", columnNames = "name")) //회원 이름 중복 방지 + 이름 검색용 인덱스
+@Getter
+@Setter
+@ToString(exclude = "orders") //equals/hashCode 는 Object 기본(식별자 비교), 연관관계는 toString 에서 제외
 public class Member {
 
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "member_seq_gen")
+    @SequenceGenerator(name = "member_seq_gen", sequenceName = "member_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name="member_id")
     /**
      * @Id: 해당 필드를 엔티티의 기본 키(PK)로 지정
@@ -0,0 +1,9 @@
+package jpabook.jpashop.domain;
+
+/**
+ * 주문 검색의 회원 이름 일치 방식
+ */
+public enum MemberNameMatch {
+    PREFIX,   // name like 'x%' → member.name 인덱스 범위 검색
+    CONTAINS  // name like '%x%' → 인덱스를 못 타고 전체 스캔
+}
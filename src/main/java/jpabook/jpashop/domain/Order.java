@@ -1,16 +1,27 @@
 package jpabook.jpashop.domain;
 
 import jakarta.persistence.*;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 @Entity
-@Table(name="orders") //엔티티를 매핑할 데이터베이스 테이블 이름을 "orders"로 지정
-@Data
+@Table(name="orders", //엔티티를 매핑할 데이터베이스 테이블 이름을 "orders"로 지정
+        indexes = {
+                @Index(name = "idx_orders_order_date_id", columnList = "order_date, order_id"), //키셋 페이징 정렬용 인덱스
+                @Index(name = "idx_orders_status_order_date", columnList = "status, order_date"), //상태별 집계용 인덱스
+                @Index(name = "idx_orders_member_order_date_id", columnList = "member_id, order_date, order_id") //회원 주문 내역 키셋 페이징용
+        })
+@Getter
+@Setter
+@ToString(exclude = {"member", "orderItems", "delivery"})
 public class Order {
-    @Id @GeneratedValue
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_gen")
+    @SequenceGenerator(name = "orders_seq_gen", sequenceName = "orders_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name="order_id")
     private Long id;
 
@@ -25,11 +36,18 @@ public class Order {
     @JoinColumn(name="delivery_id")
     private Delivery delivery;
 
+    @Column(name="order_date")
     private LocalDateTime orderDate; //주문 시간
 
     @Enumerated(EnumType.STRING)
     private OrderStatus status; //주문상태 [ORDER, CANCEL]
 
+    //주문상품 합계 (집계/정렬 시 order_item 을 읽지 않도록 주문에 같이 저장, 취소해도 유지)
+    @Column(name="total_price")
+    private int totalPrice; //전체 주문 가격
+    @Column(name="item_count")
+    private int itemCount; //전체 주문 수량
+
     //==연관관계 메서드==//
     public void setMember(Member member) {
         this.member = member;
@@ -38,6 +56,8 @@ public class Order {
     public void addOrderItem(OrderItem orderItem) {
         orderItems.add(orderItem);
         orderItem.setOrder(this);
+        this.totalPrice += orderItem.getTotalPrice();
+        this.itemCount += orderItem.getCount();
     }
     public void setDelivery(Delivery delivery) {
         this.delivery = delivery;
@@ -64,18 +84,12 @@ public class Order {
         if (delivery.getStatus() == DeliveryStatus.COMP) {
             throw new IllegalStateException("이미 배송완료된 상품은 취소가 불가능합니다.");
         }
+        if (delivery.getClaimedBy() != null) {
+            throw new IllegalStateException("배송 처리 중인 상품은 취소가 불가능합니다.");
+        }
         this.setStatus(OrderStatus.CANCEL);
         for (OrderItem orderItem : orderItems) {
             orderItem.cancel();
         }
     }
-    //==조회 로직==//
-    /** 전체 주문 가격 조회 */
-    public int getTotalPrice() {
-        int totalPrice = 0;
-        for (OrderItem orderItem : orderItems) {
-            totalPrice += orderItem.getTotalPrice();
-        }
-        return totalPrice;
-    }
 }
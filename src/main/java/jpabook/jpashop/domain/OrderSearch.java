@@ -4,6 +4,28 @@ import lombok.Data;
 
 @Data
 public class OrderSearch {
+    public static final int MAX_SIZE = 100; //한 페이지 최대 건수
+    public static final char LIKE_ESCAPE = '!'; //like 패턴의 이스케이프 문자 (쿼리의 escape 절과 같아야 함)
+
     private String memberName; //회원 이름
+    private MemberNameMatch memberNameMatch = MemberNameMatch.CONTAINS; //회원 이름 일치 방식 (PREFIX 는 인덱스 범위 검색)
     private OrderStatus orderStatus; //주문 상태 [ORDER, CANCEL]
+    private String cursor; //다음 페이지 커서 (이전 페이지 마지막 주문의 주문일시 + 주문 id)
+    private int size = 20; //페이지 크기
+
+    /** 회원 이름 like 검색 패턴 - 입력한 %, _ 는 와일드카드가 아닌 글자로 찾는다 */
+    public String getMemberNamePattern() {
+        String escaped = memberName
+                .replace(String.valueOf(LIKE_ESCAPE), LIKE_ESCAPE + String.valueOf(LIKE_ESCAPE))
+                .replace("%", LIKE_ESCAPE + "%")
+                .replace("_", LIKE_ESCAPE + "_");
+        return memberNameMatch == MemberNameMatch.CONTAINS
+                ? "%" + escaped + "%"
+                : escaped + "%";
+    }
+
+    /** 1 ~ MAX_SIZE 범위로 보정한 페이지 크기 */
+    public int getPageSize() {
+        return Math.min(Math.max(size, 1), MAX_SIZE);
+    }
 }
@@ -0,0 +1,47 @@
+package jpabook.jpashop.domain;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+
+/**
+ * 트랜잭셔널 아웃박스: 주문과 같은 트랜잭션에 저장되고, OutboxRelay 가 외부로 발행한 뒤 지운다.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@ToString
+public class OutboxEvent {
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "outbox_event_seq_gen")
+    @SequenceGenerator(name = "outbox_event_seq_gen", sequenceName = "outbox_event_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
+    @Column(name = "outbox_event_id")
+    private Long id; //이벤트 id (중복 제거용) - 시퀀스 블록 단위로 미리 할당되므로 커밋 순서와 다를 수 있음
+
+    private String aggregateType; //Order
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    private OutboxEventType eventType;
+
+    @Column(length = 2000)
+    private String payload; //JSON
+
+    private LocalDateTime createdAt;
+
+    //==생성 메서드==//
+    public static OutboxEvent create(String aggregateType, Long aggregateId, OutboxEventType eventType,
+                                     String payload) {
+        OutboxEvent event = new OutboxEvent();
+        event.setAggregateType(aggregateType);
+        event.setAggregateId(aggregateId);
+        event.setEventType(eventType);
+        event.setPayload(payload);
+        event.setCreatedAt(LocalDateTime.now());
+        return event;
+    }
+}
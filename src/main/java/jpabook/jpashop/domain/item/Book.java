@@ -2,11 +2,15 @@ package jpabook.jpashop.domain.item;
 
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 
 
 @Entity
-@Data
+@Getter
+@Setter
+@ToString(callSuper = true)
 @DiscriminatorValue("B")
 public class Book extends Item{
     private String author;
@@ -2,8 +2,13 @@ package jpabook.jpashop.domain.item;
 
 import jakarta.persistence.*;
 import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.IdGeneration;
 import jpabook.jpashop.domain.exception.NotEnoughStockException;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -11,9 +16,17 @@ import java.util.List;
 @Entity
 @Inheritance(strategy = InheritanceType.SINGLE_TABLE) // 상속 관계 매핑 시, 모든 자식 엔티티를 하나의 테이블에 통합해서 저장하는 전략
 @DiscriminatorColumn(name="dtype")
-@Data
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Item.CACHE_REGION) // 2차 캐시 (Book/Album/Movie 도 같은 region 사용)
+@Getter
+@Setter
+@ToString(exclude = "categories")
 public abstract class Item {
-    @Id @GeneratedValue
+    public static final String CACHE_REGION = "item";
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "item_seq_gen")
+    @SequenceGenerator(name = "item_seq_gen", sequenceName = "item_seq", allocationSize = IdGeneration.ALLOCATION_SIZE)
     @Column(name="item_id")
     private Long id;
 
@@ -21,6 +34,9 @@ public abstract class Item {
     private int price;
     private int stockQuantity;
 
+    @Version //낙관적 락: 동시에 같은 상품 재고를 수정하면 늦게 커밋한 쪽이 실패
+    private Long version;
+
     @ManyToMany(mappedBy = "items")
     private List<Category> categories=new ArrayList<>();
 
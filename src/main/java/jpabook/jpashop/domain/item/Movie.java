@@ -2,9 +2,13 @@ package jpabook.jpashop.domain.item;
 
 import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.Entity;
-import lombok.Data;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
 @Entity
-@Data
+@Getter
+@Setter
+@ToString(callSuper = true)
 @DiscriminatorValue("M")
 public class Movie extends Item{
     private String director;
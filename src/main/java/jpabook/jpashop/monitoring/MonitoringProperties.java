@@ -0,0 +1,15 @@
+package jpabook.jpashop.monitoring;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 모니터링 설정 (application.yml 의 jpashop.monitoring.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jpashop.monitoring")
+public class MonitoringProperties {
+    private int sqlWarnThreshold = 20; //요청 하나의 SQL 수가 이보다 많으면 N+1 의심 경고 로그
+}
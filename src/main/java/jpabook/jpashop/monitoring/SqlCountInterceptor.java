@@ -0,0 +1,55 @@
+package jpabook.jpashop.monitoring;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+/**
+ * 요청 하나가 실행한 SQL 수를 jpashop.http.sql.statements{method, uri} 분포로 기록
+ * 기준값(jpashop.monitoring.sql-warn-threshold)을 넘으면 N+1 의심 경고를 남긴다.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class SqlCountInterceptor implements HandlerInterceptor {
+
+    private static final String CAPTURE_ATTRIBUTE = SqlCountInterceptor.class.getName() + ".capture";
+
+    private final MeterRegistry meterRegistry;
+    private final MonitoringProperties monitoringProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        request.setAttribute(CAPTURE_ATTRIBUTE, SqlStatementCounter.begin(false));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler,
+                                Exception ex) {
+        if (!(request.getAttribute(CAPTURE_ATTRIBUTE) instanceof SqlStatementCounter.Capture capture)) {
+            return;
+        }
+        SqlStatementCounter.end(capture);
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+        DistributionSummary.builder("jpashop.http.sql.statements")
+                .description("SQL statements per request")
+                .tag("method", request.getMethod())
+                .tag("uri", uri)
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(capture.getCount());
+
+        if (capture.getCount() > monitoringProperties.getSqlWarnThreshold()) {
+            log.warn("N+1 의심: {} {} 요청에서 SQL {}건 실행 (기준 {}건)", request.getMethod(), uri,
+                    capture.getCount(), monitoringProperties.getSqlWarnThreshold());
+        }
+    }
+}
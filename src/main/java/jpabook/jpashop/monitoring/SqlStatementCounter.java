@@ -0,0 +1,70 @@
+package jpabook.jpashop.monitoring;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 현재 스레드에서 실행되는 SQL 문 수를 센다. (hibernate.session_factory.statement_inspector)
+ * begin() ~ end() 사이에 Hibernate 가 준비하는 모든 SQL 이 대상이며, 범위 밖에서는 아무것도 하지 않는다.
+ * 범위는 겹칠 수 있다. (요청 단위 집계 SqlCountInterceptor 안에서 테스트가 따로 세는 경우 등)
+ */
+public class SqlStatementCounter implements StatementInspector {
+
+    private static final ThreadLocal<Deque<Capture>> ACTIVE = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public String inspect(String sql) {
+        for (Capture capture : ACTIVE.get()) {
+            capture.add(sql);
+        }
+        return sql;
+    }
+
+    /** 세기 시작 (recordStatements 가 true 면 SQL 문자열도 모은다) */
+    public static Capture begin(boolean recordStatements) {
+        Capture capture = new Capture(recordStatements);
+        ACTIVE.get().push(capture);
+        return capture;
+    }
+
+    /** 세기 끝 - 같은 스레드에서 begin() 으로 받은 capture 를 넘긴다 */
+    public static void end(Capture capture) {
+        Deque<Capture> active = ACTIVE.get();
+        active.remove(capture);
+        if (active.isEmpty()) {
+            ACTIVE.remove();
+        }
+    }
+
+    /**
+     * 한 범위에서 실행된 SQL
+     */
+    public static class Capture {
+        private int count;
+        private final List<String> statements;
+
+        private Capture(boolean recordStatements) {
+            this.statements = recordStatements ? new ArrayList<>() : null;
+        }
+
+        private void add(String sql) {
+            count++;
+            if (statements != null) {
+                statements.add(sql);
+            }
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /** 기록한 SQL 목록 (recordStatements=false 면 빈 목록) */
+        public List<String> getStatements() {
+            return statements == null ? List.of() : List.copyOf(statements);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Item;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+@Timed(value = "jpashop.repository", histogram = true) //메서드별 {class, method} 태그
+@RequiredArgsConstructor
+public class CategoryRepository {
+
+    /** 루트 r 의 하위 카테고리 path 패턴 (Category.getSubtreePathPrefix() + '%' 와 같은 값) */
+    private static final String SUBTREE_PATTERN = "concat(r.path, cast(r.id as String), '/%')";
+
+    private final EntityManager em;
+
+    public void save(Category category) {
+        em.persist(category);
+    }
+
+    public Category findOne(Long id) {
+        return em.find(Category.class, id);
+    }
+
+    /**
+     * 카테고리와 그 아래 모든 카테고리 (깊이 → id 순, 루트가 맨 앞)
+     * 루트를 조인해 그 path 로 like 조건을 만든다 → 루트 조회 없이 쿼리 한 번
+     * 부모 카테고리는 지연로딩이 아니라 같은 결과 안에서 찾아 쓰면 된다.
+     */
+    public List<Category> findSubtree(Long categoryId) {
+        return em.createQuery(
+                        "select c from Category c, Category r" +
+                                " where r.id = :id" +
+                                " and (c = r or c.path like " + SUBTREE_PATTERN + ")" +
+                                " order by c.depth, c.id", Category.class)
+                .setParameter("id", categoryId)
+                .getResultList();
+    }
+
+    /**
+     * 카테고리 하위 트리 전체에 속한 상품 (category_item 조인, 중복 제거)
+     */
+    public List<Item> findItemsInSubtree(Long categoryId) {
+        return em.createQuery(
+                        "select distinct i from Category c join c.items i, Category r" +
+                                " where r.id = :id" +
+                                " and (c = r or c.path like " + SUBTREE_PATTERN + ")", Item.class)
+                .setParameter("id", categoryId)
+                .getResultList();
+    }
+
+    /** 자신을 제외한 하위 카테고리 전체 (깊이 → id 순) - path 는 숫자와 '/' 뿐이라 like 이스케이프가 필요 없다 */
+    private List<Category> findDescendants(Category root) {
+        return em.createQuery(
+                        "select c from Category c where c.path like :prefix order by c.depth, c.id", Category.class)
+                .setParameter("prefix", root.getSubtreePathPrefix() + "%")
+                .getResultList();
+    }
+
+    /**
+     * 카테고리를 다른 부모 아래로 옮긴다.
+     * 자신의 path 는 addChildCategory 에서, 하위 카테고리 path/depth 는 벌크 UPDATE 한 번으로 바꾼다.
+     * 벌크 UPDATE 는 영속성 컨텍스트를 거치지 않으므로, 이미 올라와 있던 하위 카테고리만 다시 읽는다.
+     * (영속성 컨텍스트를 통째로 비우면 호출한 쪽의 다른 엔티티까지 준영속이 됨)
+     */
+    public void move(Category category, Category newParent) {
+        String oldPrefix = category.getSubtreePathPrefix();
+        if (newParent.getSubtreePathPrefix().startsWith(oldPrefix)) {
+            throw new IllegalArgumentException("자신이나 하위 카테고리 아래로는 옮길 수 없습니다.");
+        }
+        int oldDepth = category.getDepth();
+        if (category.getParent() != null) {
+            category.getParent().getChild().remove(category);
+        }
+        newParent.addChildCategory(category);
+        em.flush();
+        em.createQuery("update Category c" +
+                        " set c.path = concat(:newPrefix, substring(c.path, :oldLength + 1))," +
+                        " c.depth = c.depth + :depthDelta" +
+                        " where c.path like :oldPattern")
+                .setParameter("newPrefix", category.getSubtreePathPrefix())
+                .setParameter("oldLength", oldPrefix.length())
+                .setParameter("depthDelta", category.getDepth() - oldDepth)
+                .setParameter("oldPattern", oldPrefix + "%")
+                .executeUpdate();
+
+        // 새로 읽은 엔티티는 바뀐 path 를 갖고, 전에 올라와 있던 엔티티는 옛 path 그대로 돌려받으므로 그것만 refresh
+        String newPrefix = category.getSubtreePathPrefix();
+        for (Category descendant : findDescendants(category)) {
+            if (!descendant.getPath().startsWith(newPrefix)) {
+                em.refresh(descendant);
+            }
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package jpabook.jpashop.repository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jpabook.jpashop.domain.Delivery;
+import jpabook.jpashop.repository.query.DeliveryBacklogRow;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.query.NativeQuery;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Timed(value = "jpashop.repository", histogram = true) //메서드별 {class, method} 태그
+@RequiredArgsConstructor
+public class DeliveryRepository {
+
+    private final EntityManager em;
+
+    /**
+     * 배송 대기(READY) 건을 limit 건까지 선점
+     * 다른 트랜잭션이 잠근 행은 건너뛰고(skip locked) 잠가서 가져온 뒤 선점자/시각을 기록한다.
+     * 선점 후 lease 가 지나도록 끝나지 않은 건(워커 중단 등)은 다시 선점할 수 있다. 취소된 주문의 배송은 제외
+     * @return 선점한 배송 id (id 순)
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> claimReady(String owner, int limit, LocalDateTime now, LocalDateTime leaseExpiredBefore) {
+        List<Number> ids = em.createNativeQuery("select d.delivery_id from delivery d" +
+                        " where d.status = 'READY'" +
+                        " and (d.claimed_at is null or d.claimed_at < :expired)" +
+                        " and not exists (select 1 from orders o" +
+                        " where o.delivery_id = d.delivery_id and o.status = 'CANCEL')" +
+                        " order by d.delivery_id" +
+                        " fetch first " + limit + " rows only" +
+                        " for update skip locked")
+                .setParameter("expired", leaseExpiredBefore)
+                .getResultList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        List<Long> claimed = ids.stream().map(Number::longValue).toList();
+        deliveryUpdate("update delivery set claimed_by = :owner, claimed_at = :now where delivery_id in (:ids)")
+                .setParameter("owner", owner)
+                .setParameter("now", now)
+                .setParameter("ids", claimed)
+                .executeUpdate();
+        return claimed;
+    }
+
+    /**
+     * 선점한 배송을 한 번에 배송 완료(COMP) 처리 (선점자가 바뀐 건, 그 사이 주문이 취소된 건은 제외)
+     * 주문 취소는 선점된 배송을 거절하지만, 잠금 전에 읽은 경우를 대비해 여기서도 한 번 더 거른다.
+     */
+    public int markCompleted(Collection<Long> deliveryIds, String owner) {
+        return deliveryUpdate("update delivery set status = 'COMP', claimed_by = null, claimed_at = null" +
+                " where delivery_id in (:ids) and claimed_by = :owner" +
+                " and not exists (select 1 from orders o" +
+                " where o.delivery_id = delivery.delivery_id and o.status = 'CANCEL')")
+                .setParameter("ids", deliveryIds)
+                .setParameter("owner", owner)
+                .executeUpdate();
+    }
+
+    /**
+     * 처리하지 못한 배송의 선점을 풀어서 다음 선점 때 다시 처리되게 한다.
+     */
+    public int releaseClaims(Collection<Long> deliveryIds, String owner) {
+        return deliveryUpdate("update delivery set claimed_by = null, claimed_at = null" +
+                " where delivery_id in (:ids) and claimed_by = :owner")
+                .setParameter("ids", deliveryIds)
+                .setParameter("owner", owner)
+                .executeUpdate();
+    }
+
+    /**
+     * 주문 취소 전에 배송 행을 잠그고 최신 상태로 다시 읽는다. (select ... for update)
+     * 취소하는 동안 워커가 이 배송을 선점/완료하지 못한다. (주문 → 배송 순서로 잠금)
+     */
+    public void lockForCancel(Delivery delivery) {
+        em.refresh(delivery, LockModeType.PESSIMISTIC_WRITE);
+    }
+
+    /**
+     * 취소 가능한 배송(배송 완료 아님 + 선점되지 않음)만 골라 행 잠금 (일괄 취소용)
+     * @return 잠근 배송 id
+     */
+    @SuppressWarnings("unchecked")
+    public List<Long> lockCancelableIds(Collection<Long> deliveryIds) {
+        List<Number> ids = em.createNativeQuery("select d.delivery_id from delivery d" +
+                        " where d.delivery_id in (:ids) and d.status <> 'COMP' and d.claimed_by is null" +
+                        " order by d.delivery_id" +
+                        " for update")
+                .setParameter("ids", deliveryIds)
+                .getResultList();
+        return ids.stream().map(Number::longValue).toList();
+    }
+
+    /** 배송 대기 건수와 가장 오래 기다린 건의 주문 시각 (취소된 주문의 배송은 영원히 READY 로 남으므로 제외) */
+    public DeliveryBacklogRow findReadyBacklog() {
+        return em.createQuery("select new jpabook.jpashop.repository.query.DeliveryBacklogRow(" +
+                        "count(d), min(o.orderDate))" +
+                        " from Order o join o.delivery d" +
+                        " where d.status = jpabook.jpashop.domain.DeliveryStatus.READY" +
+                        " and o.status <> jpabook.jpashop.domain.OrderStatus.CANCEL", DeliveryBacklogRow.class)
+                .getSingleResult();
+    }
+
+    /** delivery 만 바꾸는 네이티브 UPDATE (query space 를 지정하지 않으면 2차 캐시 전체가 비워짐) */
+    private NativeQuery<?> deliveryUpdate(String sql) {
+        return em.createNativeQuery(sql)
+                .unwrap(NativeQuery.class)
+                .addSynchronizedEntityClass(Delivery.class);
+    }
+}
@@ -1,13 +1,43 @@
 package jpabook.jpashop.repository;
 
+import jakarta.persistence.DiscriminatorValue;
 import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import jpabook.jpashop.repository.query.ItemListRow;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.jpa.HibernateHints;
+import org.hibernate.query.NativeQuery;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Stream;
 @Repository
+@Timed(value = "jpashop.repository", histogram = true) //메서드별 {class, method} 태그
 @RequiredArgsConstructor
 public class ItemRepository {
+    /** 상품 목록 조회 결과 캐시 region (재고 차감 시 비움) */
+    public static final String QUERY_CACHE_REGION = "item-query";
+    /** 재고 차감 UPDATE 전용 query space (엔티티 region 전체 무효화 방지용, 어떤 엔티티와도 매칭되지 않음) */
+    private static final String STOCK_QUERY_SPACE = "item_stock";
+
     private final EntityManager em;
 
     public void save(Item item){
@@ -18,12 +48,215 @@ public class ItemRepository {
         }
     }
 
+    /**
+     * 영속성 컨텍스트에 쌓인 insert 를 실행하고 비운다. (일괄 등록 시 주기적으로 호출)
+     */
+    public void flushAndClear(){
+        em.flush();
+        em.clear();
+    }
+
+    /**
+     * 상품 여러 건을 JDBC 배치 UPDATE 로 수정 (merge 처럼 건별 select 를 하지 않음)
+     * 상품 종류(dtype)가 같은 행만 수정하고(종류는 바꾸지 않음), 다른 종류의 컬럼은 null 로 둔다.
+     * 영속성 컨텍스트를 거치지 않으므로 item 2차 캐시 region 을 비운다.
+     * @return 실제로 수정된 상품 id (없는 id, 종류가 다른 상품은 빠짐)
+     */
+    public List<Long> bulkUpdate(List<Item> items){
+        em.flush();
+        List<Long> updatedIds = new ArrayList<>(items.size());
+        em.unwrap(Session.class).doWork(connection -> {
+            try (PreparedStatement ps = connection.prepareStatement("update item" +
+                    " set name = ?, price = ?, stock_quantity = ?," +
+                    " author = ?, isbn = ?, artist = ?, etc = ?, director = ?, actor = ?," +
+                    " version = version + 1" +
+                    " where item_id = ? and dtype = ?")) {
+                for (Item item : items) {
+                    ps.setString(1, item.getName());
+                    ps.setInt(2, item.getPrice());
+                    ps.setInt(3, item.getStockQuantity());
+                    ps.setString(4, item instanceof Book book ? book.getAuthor() : null);
+                    ps.setString(5, item instanceof Book book ? book.getIsbn() : null);
+                    ps.setString(6, item instanceof Album album ? album.getArtist() : null);
+                    ps.setString(7, item instanceof Album album ? album.getEtc() : null);
+                    ps.setString(8, item instanceof Movie movie ? movie.getDirector() : null);
+                    ps.setString(9, item instanceof Movie movie ? movie.getActor() : null);
+                    ps.setLong(10, item.getId());
+                    ps.setString(11, dtypeOf(item));
+                    ps.addBatch();
+                }
+                int[] counts = ps.executeBatch();
+                for (int i = 0; i < counts.length; i++) {
+                    //SUCCESS_NO_INFO: 드라이버가 건별 결과를 주지 않음 → 수정된 것으로 본다
+                    if (counts[i] > 0 || counts[i] == Statement.SUCCESS_NO_INFO) {
+                        updatedIds.add(items.get(i).getId());
+                    }
+                }
+            }
+        });
+        evictAllFromCache();
+        return updatedIds;
+    }
+
+    /**
+     * 상품 id → 상품 종류(dtype) (없는 id 는 빠짐)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, String> findDtypes(Collection<Long> ids){
+        List<Object[]> rows = em.createNativeQuery("select item_id, dtype from item where item_id in (:ids)")
+                .setParameter("ids", ids)
+                .getResultList();
+        Map<Long, String> dtypes = new HashMap<>();
+        for (Object[] row : rows) {
+            dtypes.put(((Number) row[0]).longValue(), (String) row[1]);
+        }
+        return dtypes;
+    }
+
+    /**
+     * 있는 상품 id 만 (엔티티를 읽지 않고 기본키 인덱스만 조회)
+     */
+    @SuppressWarnings("unchecked")
+    public Set<Long> findExistingIds(Collection<Long> ids){
+        List<Number> rows = em.createNativeQuery("select item_id from item where item_id in (:ids)")
+                .setParameter("ids", ids)
+                .getResultList();
+        Set<Long> existing = new HashSet<>();
+        rows.forEach(id -> existing.add(id.longValue()));
+        return existing;
+    }
+
+    /** 엔티티 클래스의 @DiscriminatorValue (B, A, M) */
+    public static String dtypeOf(Item item){
+        return item.getClass().getAnnotation(DiscriminatorValue.class).value();
+    }
+
     public Item findOne(Long id){
         return em.find(Item.class,id);
     }
 
+    public List<Item> findAllById(Collection<Long> ids){
+        //여러 상품을 한 번에 조회 (2차 캐시에 있는 상품은 빼고 나머지만 IN 쿼리 한 번)
+        return em.unwrap(Session.class)
+                .byMultipleIds(Item.class)
+                .multiLoad(List.copyOf(ids))
+                .stream()
+                .filter(Objects::nonNull) //없는 id 는 null 로 채워져 있음
+                .toList();
+    }
+
+    /**
+     * 조건부 UPDATE 로 재고 차감 (재고가 충분할 때만)
+     * 벌크 연산이라 영속성 컨텍스트를 거치지 않으므로 차감 후에 조회해야 최신 재고를 본다.
+     * JPQL 벌크 연산은 item 2차 캐시 region 전체를 비우므로, 네이티브 쿼리로 실행하고 해당 상품만 캐시에서 뺀다.
+     * @return 차감된 행 수 (0이면 재고 부족)
+     */
+    public int decreaseStock(Long id, int count){
+        int updated = em.createNativeQuery("update item" +
+                        " set stock_quantity = stock_quantity - :count, version = version + 1" +
+                        " where item_id = :id and stock_quantity >= :count")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+                .setParameter("count", count)
+                .setParameter("id", id)
+                .executeUpdate();
+        if (updated > 0) {
+            evictFromCache(id);
+        }
+        return updated;
+    }
+
+    /**
+     * 재고 증가 (차감 보상용) - decreaseStock 과 같은 방식으로 해당 상품만 캐시에서 뺀다.
+     */
+    public int increaseStock(Long id, int count){
+        int updated = em.createNativeQuery("update item" +
+                        " set stock_quantity = stock_quantity + :count, version = version + 1" +
+                        " where item_id = :id")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(STOCK_QUERY_SPACE)
+                .setParameter("count", count)
+                .setParameter("id", id)
+                .executeUpdate();
+        if (updated > 0) {
+            evictFromCache(id);
+        }
+        return updated;
+    }
+
+    /**
+     * 현재 재고를 조회하면서 행 잠금 (select ... for update)
+     * 트랜잭션이 끝날 때까지 다른 트랜잭션은 이 상품 재고를 바꿀 수 없다.
+     * @return 상품이 없으면 empty
+     */
+    public Optional<Integer> findStockForUpdate(Long id){
+        List<?> stock = em.createNativeQuery("select stock_quantity from item where item_id = :id for update")
+                .setParameter("id", id)
+                .getResultList();
+        return stock.stream().findFirst().map(s -> ((Number) s).intValue());
+    }
+
     public List<Item> findAll(){
         return em.createQuery("select i from Item i",Item.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true) //조회 결과(id 목록)를 쿼리 캐시에 저장
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
                 .getResultList();
     }
+
+    public Stream<Item> streamAll(int fetchSize){
+        //전체 상품을 JDBC 커서로 fetchSize 건씩 읽기 (검색 색인 구성용, 트랜잭션 안에서 다 읽고 닫아야 함)
+        return em.createQuery("select i from Item i order by i.id", Item.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true)
+                .setHint(HibernateHints.HINT_CACHEABLE, false)
+                .getResultStream();
+    }
+
+    public List<ItemListRow> findAllRows(){
+        //목록 화면용 DTO 조회 (생성자 표현식 - 엔티티를 영속성 컨텍스트에 올리지 않음)
+        return em.createQuery("select new jpabook.jpashop.repository.query.ItemListRow(" +
+                        "i.id, i.name, i.price, i.stockQuantity) from Item i", ItemListRow.class)
+                .setHint(HibernateHints.HINT_CACHEABLE, true)
+                .setHint(HibernateHints.HINT_CACHE_REGION, QUERY_CACHE_REGION)
+                .getResultList();
+    }
+
+    /**
+     * 2차 캐시에서 상품 전체와 상품 목록 쿼리 캐시를 비운다. (커밋 후에 한 번 더)
+     */
+    private void evictAllFromCache(){
+        SessionFactory sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactory.class);
+        Runnable evict = () -> {
+            sessionFactory.getCache().evictEntityData(Item.class);
+            sessionFactory.getCache().evictQueryRegion(QUERY_CACHE_REGION);
+        };
+        evict.run();
+        evictAfterCompletion(evict);
+    }
+
+    /**
+     * 2차 캐시에서 상품 하나와 상품 목록 쿼리 캐시를 비운다.
+     * (엔티티 변경 감지로 바뀐 재고는 Hibernate 가 캐시를 갱신하므로 벌크/네이티브 UPDATE 후에만 호출)
+     * 커밋 전에 다른 트랜잭션이 옛 값을 다시 캐시에 넣을 수 있으므로 커밋 후에 한 번 더 비운다.
+     */
+    private void evictFromCache(Long id){
+        SessionFactory sessionFactory = em.getEntityManagerFactory().unwrap(SessionFactory.class);
+        Runnable evict = () -> {
+            sessionFactory.getCache().evictEntityData(Item.class, id);
+            sessionFactory.getCache().evictQueryRegion(QUERY_CACHE_REGION);
+        };
+        evict.run();
+        evictAfterCompletion(evict);
+    }
+
+    private void evictAfterCompletion(Runnable evict){
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    evict.run();
+                }
+            });
+        }
+    }
 }
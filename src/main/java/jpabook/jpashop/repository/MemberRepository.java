@@ -3,10 +3,13 @@ package jpabook.jpashop.repository;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.PersistenceContext;
 import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.repository.query.MemberListRow;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 @Repository
+@Timed(value = "jpashop.repository", histogram = true) //메서드별 {class, method} 태그
 @RequiredArgsConstructor
 public class MemberRepository {
 
@@ -27,6 +30,23 @@ public class MemberRepository {
                 .getResultList();
     }
 
+    public List<MemberListRow> findAllRows(){
+        //목록 화면용 DTO 조회 → orders 컬렉션, 스냅샷 없이 필요한 컬럼만 조회
+        return em.createQuery("select new jpabook.jpashop.repository.query.MemberListRow(" +
+                        "m.id, m.name, m.address.city, m.address.street, m.address.zipcode)" +
+                        " from Member m", MemberListRow.class)
+                .getResultList();
+    }
+
+    public boolean existsByName(String name){
+        //엔티티를 로딩하지 않고 존재 여부만 확인 (member.name 유니크 인덱스로 1건만 찾고 멈춤)
+        return !em.createQuery("select 1 from Member m where m.name=:name",Integer.class)
+                .setParameter("name",name)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+
     public List<Member> findByName(String name){
         //주어진 name 값과 동일한 이름을 가진 모든 Member 엔티티를 리스트로 반환
         return em.createQuery("select m from Member m where m.name=:name",Member.class)
@@ -0,0 +1,71 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.query.DailyRevenueRow;
+import jpabook.jpashop.repository.query.MemberRevenueRow;
+import jpabook.jpashop.repository.query.StatusRevenueRow;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 주문 매출 집계 조회
+ * 주문에 저장된 합계(totalPrice)만 DB 에서 집계하므로 order_item 은 읽지 않는다.
+ * 기간 조건은 [from, to) 이며 order_date / (status, order_date) 인덱스를 탄다.
+ */
+@Repository
+@Timed(value = "jpashop.repository", histogram = true) //메서드별 {class, method} 태그
+@RequiredArgsConstructor
+public class OrderReportRepository {
+
+    private final EntityManager em;
+
+    /** 일별 매출 (해당 상태의 주문만) */
+    public List<DailyRevenueRow> findDailyRevenue(OrderStatus status, LocalDateTime from, LocalDateTime to) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.query.DailyRevenueRow(" +
+                                "cast(o.orderDate as LocalDate), count(o), sum(o.totalPrice))" +
+                                " from Order o" +
+                                " where o.status = :status and o.orderDate >= :from and o.orderDate < :to" +
+                                " group by cast(o.orderDate as LocalDate)" +
+                                " order by cast(o.orderDate as LocalDate)", DailyRevenueRow.class)
+                .setParameter("status", status)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    /** 주문 상태별 매출 */
+    public List<StatusRevenueRow> findStatusRevenue(LocalDateTime from, LocalDateTime to) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.query.StatusRevenueRow(" +
+                                "o.status, count(o), sum(o.totalPrice))" +
+                                " from Order o" +
+                                " where o.orderDate >= :from and o.orderDate < :to" +
+                                " group by o.status", StatusRevenueRow.class)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .getResultList();
+    }
+
+    /** 매출 상위 회원 (해당 상태의 주문만) */
+    public List<MemberRevenueRow> findTopMemberRevenue(OrderStatus status, LocalDateTime from, LocalDateTime to,
+                                                       int limit) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.query.MemberRevenueRow(" +
+                                "m.id, m.name, count(o), sum(o.totalPrice))" +
+                                " from Order o join o.member m" +
+                                " where o.status = :status and o.orderDate >= :from and o.orderDate < :to" +
+                                " group by m.id, m.name" +
+                                " order by sum(o.totalPrice) desc", MemberRevenueRow.class)
+                .setParameter("status", status)
+                .setParameter("from", from)
+                .setParameter("to", to)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+}
@@ -4,18 +4,50 @@ import jakarta.persistence.*;
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.domain.Order;
 import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.query.ItemCountRow;
+import jpabook.jpashop.repository.query.MemberOrderRow;
+import jpabook.jpashop.repository.query.OrderItemRow;
+import jpabook.jpashop.repository.query.OrderListRow;
+import jpabook.jpashop.repository.query.OrderExportRow;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.stereotype.Repository;
-import org.springframework.util.StringUtils;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
 import jakarta.persistence.criteria.*;
 
 @Repository
+@Timed(value = "jpashop.repository", histogram = true) //메서드별 {class, method} 태그
 @RequiredArgsConstructor
 public class OrderRepository {
 
+    // 검색 쿼리 (select 절별)
+    private static final OrderSearchJpql ORDER_QUERIES = new OrderSearchJpql(
+            "select o from Order o join o.member m");
+    private static final OrderSearchJpql ORDER_FETCH_QUERIES = new OrderSearchJpql(
+            "select o from Order o" +
+                    " join fetch o.member m" +
+                    " join fetch o.delivery d");
+    private static final OrderSearchJpql ORDER_ROW_QUERIES = new OrderSearchJpql(
+            "select new jpabook.jpashop.repository.query.OrderListRow(" +
+                    "o.id, m.name, o.status, o.orderDate)" +
+                    " from Order o join o.member m");
+    // 내보내기는 정렬용 임시 결과 없이 기본키 순으로 바로 흘려보낸다 (orderDate 정렬은 전체 결과를 정렬한 뒤에야 첫 행이 나옴)
+    private static final OrderSearchJpql ORDER_EXPORT_QUERIES = new OrderSearchJpql(
+            "select new jpabook.jpashop.repository.query.OrderExportRow(" +
+                    "o.id, o.orderDate, o.status, m.name, i.name, oi.orderPrice, oi.count)" +
+                    " from OrderItem oi join oi.order o join o.member m join oi.item i",
+            " order by o.id, oi.id");
+
     private final EntityManager em;
 
     /**
@@ -32,53 +64,194 @@ public class OrderRepository {
         return em.find(Order.class, id);
     }
 
+    /**
+     * 주문 단건 조회 + 행 잠금 (select ... for update, 취소용)
+     */
+    public Order findOneForUpdate(Long id) {
+        return em.find(Order.class, id, LockModeType.PESSIMISTIC_WRITE);
+    }
+
     /**
      * JPQL을 이용한 주문 조회 (동적 쿼리 - 문자열 처리)
+     * 키셋 페이징: (orderDate desc, id desc) 정렬 후 커서 이후 pageSize+1 건 조회
      */
     public List<Order> findAllByString(OrderSearch orderSearch) {
-        // 기본 JPQL
-        String jpql = "select o from Order o join o.member m";
-        boolean isFirstCondition = true;
+        return createPagedQuery(ORDER_QUERIES, orderSearch, Order.class).getResultList();
+    }
 
-        // 주문 상태 검색
-        if (orderSearch.getOrderStatus() != null) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " o.status = :status";
+    /**
+     * 주문 목록 화면용 조회 (동적 쿼리 + 페치 조인)
+     * member, delivery(ToOne)는 페치 조인으로 한 번에 조회하고,
+     * orderItems, item(컬렉션/지연로딩)은 default_batch_fetch_size 설정으로 IN 쿼리 일괄 조회
+     */
+    public List<Order> findAllWithMemberDelivery(OrderSearch orderSearch) {
+        return createPagedQuery(ORDER_FETCH_QUERIES, orderSearch, Order.class).getResultList();
+    }
+
+    /**
+     * 주문 목록 화면용 DTO 조회 (생성자 표현식 - 엔티티를 영속성 컨텍스트에 올리지 않음)
+     * 주문상품은 findOrderItemRows 로 따로 채운다.
+     */
+    public List<OrderListRow> findOrderListRows(OrderSearch orderSearch) {
+        return createPagedQuery(ORDER_ROW_QUERIES, orderSearch, OrderListRow.class).getResultList();
+    }
+
+    /**
+     * 검색 조건에 맞는 모든 주문상품을 스트림으로 조회 (내보내기용, 페이지/건수 제한 없음, 주문 id → 주문상품 id 순)
+     * 결과를 리스트로 모으지 않고 JDBC 커서로 fetchSize 건씩 읽으므로 메모리 사용량이 결과 건수와 무관하다.
+     * 스트림은 트랜잭션 안에서 다 읽고 닫아야 한다.
+     */
+    public Stream<OrderExportRow> streamExportRows(OrderSearch orderSearch, int fetchSize) {
+        OrderSearchShape shape = OrderSearchShape.of(orderSearch);
+        OrderSearchShape withoutCursor = new OrderSearchShape(shape.status(), shape.memberName(), false);
+        TypedQuery<OrderExportRow> query = em.createQuery(ORDER_EXPORT_QUERIES.get(withoutCursor), OrderExportRow.class)
+                .setHint(HibernateHints.HINT_FETCH_SIZE, fetchSize)
+                .setHint(HibernateHints.HINT_READ_ONLY, true);
+        bindSearchParameters(query, withoutCursor, orderSearch);
+        return query.getResultStream();
+    }
+
+    /**
+     * 주문 id 목록에 해당하는 주문상품 DTO 조회 (IN 쿼리 한 번)
+     */
+    public List<OrderItemRow> findOrderItemRows(List<Long> orderIds) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.query.OrderItemRow(" +
+                                "oi.order.id, i.name, oi.orderPrice, oi.count)" +
+                                " from OrderItem oi join oi.item i" +
+                                " where oi.order.id in :orderIds" +
+                                " order by oi.id", OrderItemRow.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
+    /**
+     * 회원 한 명의 주문 내역 (orderDate desc, id desc 키셋 페이징, pageSize+1 건)
+     * (member_id, order_date, order_id) 인덱스 범위만 읽으므로 주문 수와 관계없이 일정한 시간에 조회하고,
+     * Member.orders 컬렉션은 초기화하지 않는다.
+     * @param cursor 이전 페이지 마지막 주문 (첫 페이지면 null)
+     */
+    public List<MemberOrderRow> findMemberOrderRows(Long memberId, OrderCursor cursor, int pageSize) {
+        TypedQuery<MemberOrderRow> query = em.createQuery(
+                        "select new jpabook.jpashop.repository.query.MemberOrderRow(" +
+                                "o.id, o.orderDate, o.status, o.totalPrice, o.itemCount, d.status)" +
+                                " from Order o join o.delivery d" +
+                                " where o.member.id = :memberId" +
+                                (cursor != null ? " and (o.orderDate < :cursorDate" +
+                                        " or (o.orderDate = :cursorDate and o.id < :cursorId))" : "") +
+                                " order by o.orderDate desc, o.id desc", MemberOrderRow.class)
+                .setParameter("memberId", memberId)
+                .setMaxResults(pageSize + 1);
+        if (cursor != null) {
+            query.setParameter("cursorDate", cursor.getOrderDate());
+            query.setParameter("cursorId", cursor.getOrderId());
         }
+        return query.getResultList();
+    }
 
-        // 회원 이름 검색
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            if (isFirstCondition) {
-                jpql += " where";
-                isFirstCondition = false;
-            } else {
-                jpql += " and";
-            }
-            jpql += " m.name like :name";
+    /**
+     * 이름이 정확히 일치하는 회원의 주문 상태(ORDER) 주문 id 를 id 순으로 afterId 다음부터 limit 건 (일괄 취소 대상)
+     * 되돌릴 수 없는 작업이므로 like 검색을 쓰지 않는다.
+     */
+    public List<Long> findOrderedIdsByMemberName(String memberName, Long afterId, int limit) {
+        return em.createQuery("select o.id from Order o join o.member m" +
+                        " where m.name = :name and o.status = :status and o.id > :afterId" +
+                        " order by o.id", Long.class)
+                .setParameter("name", memberName)
+                .setParameter("status", OrderStatus.ORDER)
+                .setParameter("afterId", afterId)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /**
+     * 주문 상태(ORDER)인 주문만 골라 행 잠금 (select ... for update) - 같은 주문을 동시에 취소하는 것을 막는다.
+     * 배송 완료/배송 처리 중 검사는 이어서 DeliveryRepository.lockCancelableIds 로 배송 행을 잠그고 한다. (주문 → 배송 순서로 잠금)
+     * @return 주문 id → 배송 id (주문 id 순)
+     */
+    @SuppressWarnings("unchecked")
+    public Map<Long, Long> lockOrderedDeliveryIds(Collection<Long> orderIds) {
+        List<Object[]> rows = em.createNativeQuery("select o.order_id, o.delivery_id from orders o" +
+                        " where o.order_id in (:ids) and o.status = 'ORDER'" +
+                        " order by o.order_id" +
+                        " for update")
+                .setParameter("ids", orderIds)
+                .getResultList();
+        Map<Long, Long> deliveryIdByOrderId = new LinkedHashMap<>();
+        for (Object[] row : rows) {
+            deliveryIdByOrderId.put(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
         }
+        return deliveryIdByOrderId;
+    }
+
+    /**
+     * 주문들의 상품별 주문 수량 합계 (상품 id 순 - 재고 UPDATE 잠금 순서를 맞춤)
+     */
+    public List<ItemCountRow> sumCountsByItem(Collection<Long> orderIds) {
+        return em.createQuery(
+                        "select new jpabook.jpashop.repository.query.ItemCountRow(oi.item.id, sum(oi.count))" +
+                                " from OrderItem oi" +
+                                " where oi.order.id in :orderIds" +
+                                " group by oi.item.id" +
+                                " order by oi.item.id", ItemCountRow.class)
+                .setParameter("orderIds", orderIds)
+                .getResultList();
+    }
+
+    /**
+     * 주문 상태를 한 번에 취소로 변경 (벌크 UPDATE - 영속성 컨텍스트를 거치지 않음)
+     */
+    public int bulkCancel(Collection<Long> orderIds) {
+        return em.createQuery("update Order o set o.status = :status where o.id in :orderIds")
+                .setParameter("status", OrderStatus.CANCEL)
+                .setParameter("orderIds", orderIds)
+                .executeUpdate();
+    }
 
-        TypedQuery<Order> query = em.createQuery(jpql, Order.class)
-                .setMaxResults(1000); // 최대 1000건
+    /**
+     * 검색 조건 모양에 맞는 JPQL 로 쿼리 생성 후 파라미터 바인딩
+     * 다음 페이지 존재 여부를 알기 위해 pageSize+1 건 조회
+     */
+    private <T> TypedQuery<T> createPagedQuery(OrderSearchJpql queries, OrderSearch orderSearch, Class<T> resultClass) {
+        OrderSearchShape shape = OrderSearchShape.of(orderSearch);
+        TypedQuery<T> query = em.createQuery(queries.get(shape), resultClass)
+                .setMaxResults(orderSearch.getPageSize() + 1);
+        bindSearchParameters(query, shape, orderSearch);
+        return query;
+    }
 
-        if (orderSearch.getOrderStatus() != null) {
+    /** 검색 조건 모양에 있는 파라미터만 바인딩 (JPQL, Criteria 공통 파라미터 이름) */
+    private void bindSearchParameters(TypedQuery<?> query, OrderSearchShape shape, OrderSearch orderSearch) {
+        if (shape.status()) {
             query.setParameter("status", orderSearch.getOrderStatus());
         }
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            query.setParameter("name", "%" + orderSearch.getMemberName() + "%");
+        if (shape.memberName()) {
+            query.setParameter("name", orderSearch.getMemberNamePattern());
+        }
+        if (shape.cursor()) {
+            OrderCursor cursor = OrderCursor.decode(orderSearch.getCursor());
+            query.setParameter("cursorDate", cursor.getOrderDate());
+            query.setParameter("cursorId", cursor.getOrderId());
         }
-
-        return query.getResultList();
     }
 
     /**
      * Criteria API를 이용한 주문 조회 (JPA 표준 동적 쿼리)
+     * findAllByString 과 같은 키셋 페이징 적용
+     * CriteriaQuery 는 변경 가능한 객체라 스레드 간에 공유하지 않고 호출마다 새로 만든다.
+     * 값은 파라미터로 바인딩하므로 같은 모양이면 같은 구조 → 쿼리 플랜 캐시에서 해석 결과 재사용
      */
     public List<Order> findAllByCriteria(OrderSearch orderSearch) {
+        OrderSearchShape shape = OrderSearchShape.of(orderSearch);
+        CriteriaQuery<Order> cq = createCriteria(shape);
+
+        TypedQuery<Order> query = em.createQuery(cq)
+                .setMaxResults(orderSearch.getPageSize() + 1);
+        bindSearchParameters(query, shape, orderSearch);
+        return query.getResultList();
+    }
+
+    private CriteriaQuery<Order> createCriteria(OrderSearchShape shape) {
         CriteriaBuilder cb = em.getCriteriaBuilder();
         CriteriaQuery<Order> cq = cb.createQuery(Order.class);
 
@@ -88,20 +261,72 @@ public class OrderRepository {
         List<Predicate> criteria = new ArrayList<>();
 
         // 주문 상태 검색
-        if (orderSearch.getOrderStatus() != null) {
-            Predicate status = cb.equal(o.get("status"), orderSearch.getOrderStatus());
+        if (shape.status()) {
+            Predicate status = cb.equal(o.get("status"), cb.parameter(OrderStatus.class, "status"));
             criteria.add(status);
         }
 
         // 회원 이름 검색
-        if (StringUtils.hasText(orderSearch.getMemberName())) {
-            Predicate name = cb.like(m.get("name"), "%" + orderSearch.getMemberName() + "%");
+        if (shape.memberName()) {
+            Predicate name = cb.like(m.get("name"), cb.parameter(String.class, "name"), OrderSearch.LIKE_ESCAPE);
             criteria.add(name);
         }
 
+        // 커서 이후 주문만
+        if (shape.cursor()) {
+            Path<LocalDateTime> orderDate = o.get("orderDate");
+            ParameterExpression<LocalDateTime> cursorDate = cb.parameter(LocalDateTime.class, "cursorDate");
+            Predicate after = cb.or(
+                    cb.lessThan(orderDate, cursorDate),
+                    cb.and(cb.equal(orderDate, cursorDate),
+                            cb.lessThan(o.<Long>get("id"), cb.parameter(Long.class, "cursorId"))));
+            criteria.add(after);
+        }
+
         cq.where(cb.and(criteria.toArray(new Predicate[0])));
+        cq.orderBy(cb.desc(o.get("orderDate")), cb.desc(o.get("id")));
+        return cq;
+    }
 
-        TypedQuery<Order> query = em.createQuery(cq).setMaxResults(1000); // 최대 1000건
-        return query.getResultList();
+    /**
+     * select 절이 같은 주문 검색 JPQL 을 검색 조건 모양별로 만들어 보관
+     * 같은 문자열을 재사용하므로 Hibernate 쿼리 플랜 캐시(JPQL 문자열 → 해석 결과)에서 항상 적중한다.
+     */
+    private static class OrderSearchJpql {
+        private final String select;
+        private final String orderBy;
+        private final Map<OrderSearchShape, String> jpqlByShape = new ConcurrentHashMap<>();
+
+        OrderSearchJpql(String select) {
+            this(select, " order by o.orderDate desc, o.id desc");
+        }
+
+        OrderSearchJpql(String select, String orderBy) {
+            this.select = select;
+            this.orderBy = orderBy;
+        }
+
+        String get(OrderSearchShape shape) {
+            return jpqlByShape.computeIfAbsent(shape, this::build);
+        }
+
+        private String build(OrderSearchShape shape) {
+            List<String> conditions = new ArrayList<>();
+            // 주문 상태 검색
+            if (shape.status()) {
+                conditions.add("o.status = :status");
+            }
+            // 회원 이름 검색
+            if (shape.memberName()) {
+                conditions.add("m.name like :name escape '" + OrderSearch.LIKE_ESCAPE + "'");
+            }
+            // 커서 이후 (정렬 순서상 다음) 주문만
+            if (shape.cursor()) {
+                conditions.add("(o.orderDate < :cursorDate" +
+                        " or (o.orderDate = :cursorDate and o.id < :cursorId))");
+            }
+            String where = conditions.isEmpty() ? "" : " where " + String.join(" and ", conditions);
+            return select + where + orderBy;
+        }
     }
 }
@@ -0,0 +1,18 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.OrderSearch;
+import org.springframework.util.StringUtils;
+
+/**
+ * 주문 검색 조건의 모양 (어떤 조건이 들어왔는지만, 값은 제외)
+ * 모양이 같으면 쿼리 문장도 같으므로 쿼리를 모양별로 한 번만 만들어 재사용하는 키로 쓴다. (최대 8가지)
+ */
+record OrderSearchShape(boolean status, boolean memberName, boolean cursor) {
+
+    static OrderSearchShape of(OrderSearch orderSearch) {
+        return new OrderSearchShape(
+                orderSearch.getOrderStatus() != null,
+                StringUtils.hasText(orderSearch.getMemberName()),
+                StringUtils.hasText(orderSearch.getCursor()));
+    }
+}
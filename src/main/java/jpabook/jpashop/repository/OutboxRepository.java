@@ -0,0 +1,56 @@
+package jpabook.jpashop.repository;
+
+import io.micrometer.core.annotation.Timed;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jpabook.jpashop.domain.OutboxEvent;
+import jpabook.jpashop.repository.query.OutboxBacklogRow;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.LockOptions;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+@Timed(value = "jpashop.repository", histogram = true) //메서드별 {class, method} 태그
+@RequiredArgsConstructor
+public class OutboxRepository {
+
+    private final EntityManager em;
+
+    public void save(OutboxEvent event) {
+        em.persist(event);
+    }
+
+    /**
+     * 발행할 이벤트를 id 순(대략 생성 순)으로 limit 건 잠금 조회 - 커밋 순서와 같다는 보장은 없음
+     * 다른 relay 가 잠근 행은 건너뛴다 (skip locked 를 지원하지 않는 DB 는 기다림)
+     */
+    public List<OutboxEvent> lockOldest(int limit) {
+        return em.createQuery("select e from OutboxEvent e order by e.id", OutboxEvent.class)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .setHint("jakarta.persistence.lock.timeout", LockOptions.SKIP_LOCKED)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    /** 발행한 이벤트 일괄 삭제 */
+    public int deleteAll(Collection<Long> ids) {
+        return em.createQuery("delete from OutboxEvent e where e.id in :ids")
+                .setParameter("ids", ids)
+                .executeUpdate();
+    }
+
+    public long count() {
+        return em.createQuery("select count(e) from OutboxEvent e", Long.class)
+                .getSingleResult();
+    }
+
+    /** 발행 대기 건수 + 가장 오래된 이벤트 생성 시각 (쿼리 한 번) */
+    public OutboxBacklogRow findBacklog() {
+        return em.createQuery("select new jpabook.jpashop.repository.query.OutboxBacklogRow(" +
+                        "count(e), min(e.createdAt)) from OutboxEvent e", OutboxBacklogRow.class)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,17 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDate;
+
+/**
+ * 일별 매출 집계 DTO
+ */
+@Data
+@AllArgsConstructor
+public class DailyRevenueRow {
+    private LocalDate day;
+    private long orderCount;
+    private long revenue;
+}
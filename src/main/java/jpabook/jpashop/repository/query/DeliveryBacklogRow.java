@@ -0,0 +1,16 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 배송 대기 현황 DTO (취소된 주문의 배송 제외)
+ */
+@Data
+@AllArgsConstructor
+public class DeliveryBacklogRow {
+    private long count; //배송 대기 건수
+    private LocalDateTime oldestOrderDate; //가장 오래 기다린 건의 주문 시각 (없으면 null)
+}
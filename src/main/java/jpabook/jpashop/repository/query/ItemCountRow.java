@@ -0,0 +1,14 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 상품별 수량 합계 DTO
+ */
+@Data
+@AllArgsConstructor
+public class ItemCountRow {
+    private Long itemId;
+    private long count;
+}
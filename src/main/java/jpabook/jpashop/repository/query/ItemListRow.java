@@ -0,0 +1,16 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 상품 목록 화면 조회용 DTO
+ */
+@Data
+@AllArgsConstructor
+public class ItemListRow {
+    private Long id;
+    private String name;
+    private int price;
+    private int stockQuantity;
+}
@@ -0,0 +1,17 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 회원 목록 화면 조회용 DTO (엔티티가 아니므로 영속성 컨텍스트에 올라가지 않음)
+ */
+@Data
+@AllArgsConstructor
+public class MemberListRow {
+    private Long id;
+    private String name;
+    private String city;
+    private String street;
+    private String zipcode;
+}
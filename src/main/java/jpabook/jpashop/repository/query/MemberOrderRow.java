@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository.query;
+
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 회원 주문 내역 조회용 DTO (주문에 저장된 합계 사용 - 주문상품은 읽지 않음)
+ */
+@Data
+@AllArgsConstructor
+public class MemberOrderRow {
+    private Long orderId;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private int totalPrice;
+    private int itemCount;
+    private DeliveryStatus deliveryStatus;
+}
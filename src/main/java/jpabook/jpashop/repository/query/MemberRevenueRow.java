@@ -0,0 +1,16 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 회원별 매출 집계 DTO
+ */
+@Data
+@AllArgsConstructor
+public class MemberRevenueRow {
+    private Long memberId;
+    private String memberName;
+    private long orderCount;
+    private long revenue;
+}
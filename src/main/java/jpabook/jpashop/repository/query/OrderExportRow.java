@@ -0,0 +1,22 @@
+package jpabook.jpashop.repository.query;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 주문 내보내기 행 (주문상품 1건당 1행)
+ */
+@Data
+@AllArgsConstructor
+public class OrderExportRow {
+    private Long orderId;
+    private LocalDateTime orderDate;
+    private OrderStatus status;
+    private String memberName;
+    private String itemName;
+    private int orderPrice;
+    private int count;
+}
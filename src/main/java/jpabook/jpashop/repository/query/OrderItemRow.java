@@ -0,0 +1,16 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 주문 목록 화면의 주문상품 조회용 DTO
+ */
+@Data
+@AllArgsConstructor
+public class OrderItemRow {
+    private Long orderId;
+    private String itemName;
+    private int orderPrice;
+    private int count;
+}
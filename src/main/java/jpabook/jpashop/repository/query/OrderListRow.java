@@ -0,0 +1,28 @@
+package jpabook.jpashop.repository.query;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 주문 목록 화면 조회용 DTO
+ * 주문 1건당 행은 생성자 표현식으로, 주문상품은 주문 id IN 쿼리로 한 번에 채운다.
+ */
+@Data
+public class OrderListRow {
+    private Long orderId;
+    private String memberName;
+    private OrderStatus status;
+    private LocalDateTime orderDate;
+    private List<OrderItemRow> orderItems = new ArrayList<>();
+
+    public OrderListRow(Long orderId, String memberName, OrderStatus status, LocalDateTime orderDate) {
+        this.orderId = orderId;
+        this.memberName = memberName;
+        this.status = status;
+        this.orderDate = orderDate;
+    }
+}
@@ -0,0 +1,16 @@
+package jpabook.jpashop.repository.query;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * 아웃박스 발행 대기 현황 DTO
+ */
+@Data
+@AllArgsConstructor
+public class OutboxBacklogRow {
+    private long count; //발행 대기 이벤트 수
+    private LocalDateTime oldestCreatedAt; //가장 오래된 이벤트 생성 시각 (없으면 null)
+}
@@ -0,0 +1,16 @@
+package jpabook.jpashop.repository.query;
+
+import jpabook.jpashop.domain.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+/**
+ * 주문 상태별 매출 집계 DTO
+ */
+@Data
+@AllArgsConstructor
+public class StatusRevenueRow {
+    private OrderStatus status;
+    private long orderCount;
+    private long revenue;
+}
@@ -0,0 +1,162 @@
+package jpabook.jpashop.search;
+
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 상품 검색용 메모리 역색인 (단어 → 상품 id 목록)
+ * 상품 이름, 저자/ISBN(Book), 아티스트(Album), 감독/배우(Movie) 를 단어로 나눠 색인한다.
+ * 단어 사전은 정렬된 맵이라 앞부분 일치 검색은 범위 조회 한 번, 검색어 단어들은 AND 로 묶는다.
+ * 색인은 CatalogIndexLoader(시작 시 전체)와 상품 저장/수정 커밋 후 갱신된다.
+ */
+@Component
+public class CatalogIndex {
+
+    private record Document(long id, String name, int price, Set<String> tokens) {
+    }
+
+    private final NavigableMap<String, LongPostings> dictionary = new TreeMap<>();
+    private final Map<Long, Document> documents = new HashMap<>();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** 상품 색인 (이미 있으면 이전 단어를 빼고 다시 색인) */
+    public void index(Item item) {
+        Document document = new Document(item.getId(), item.getName(), item.getPrice(), tokensOf(item));
+        lock.writeLock().lock();
+        try {
+            Document old = documents.put(document.id(), document);
+            if (old != null) {
+                removeTokens(old);
+            }
+            for (String token : document.tokens()) {
+                dictionary.computeIfAbsent(token, t -> new LongPostings()).add(document.id());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 검색어의 모든 단어가 (앞부분 일치로) 들어 있는 상품을 점수 순으로 최대 limit 건
+     */
+    public List<CatalogSearchHit> search(String query, int limit) {
+        List<String> terms = List.copyOf(tokenize(query));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        lock.readLock().lock();
+        try {
+            long[] candidates = null;
+            for (String term : terms) {
+                long[] matches = LongPostings.union(prefixMatches(term));
+                candidates = candidates == null ? matches : LongPostings.intersect(candidates, matches);
+                if (candidates.length == 0) {
+                    return List.of();
+                }
+            }
+            return topHits(candidates, terms, limit);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private List<CatalogSearchHit> topHits(long[] candidates, List<String> terms, int limit) {
+        Comparator<CatalogSearchHit> order = Comparator.comparingInt(CatalogSearchHit::score).reversed()
+                .thenComparing(CatalogSearchHit::itemId);
+        PriorityQueue<CatalogSearchHit> top = new PriorityQueue<>(limit + 1, order.reversed()); //가장 낮은 점수가 맨 앞
+        for (long id : candidates) {
+            int score = 0;
+            for (String term : terms) {
+                LongPostings exact = dictionary.get(term);
+                score += exact != null && exact.contains(id) ? 2 : 1;
+            }
+            Document document = documents.get(id);
+            top.offer(new CatalogSearchHit(id, document.name(), document.price(), score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+        List<CatalogSearchHit> hits = new ArrayList<>(top);
+        hits.sort(order);
+        return hits;
+    }
+
+    private Collection<LongPostings> prefixMatches(String prefix) {
+        return dictionary.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values();
+    }
+
+    private void removeTokens(Document document) {
+        for (String token : document.tokens()) {
+            LongPostings postings = dictionary.get(token);
+            if (postings != null && postings.remove(document.id()) && postings.isEmpty()) {
+                dictionary.remove(token);
+            }
+        }
+    }
+
+    private static Set<String> tokensOf(Item item) {
+        Set<String> tokens = new LinkedHashSet<>(tokenize(item.getName()));
+        if (item instanceof Book book) {
+            tokens.addAll(tokenize(book.getAuthor()));
+            tokens.addAll(tokenize(book.getIsbn()));
+            if (book.getIsbn() != null) {
+                tokens.addAll(tokenize(book.getIsbn().replace("-", ""))); //하이픈 없이 검색해도 찾도록
+            }
+        } else if (item instanceof Album album) {
+            tokens.addAll(tokenize(album.getArtist()));
+        } else if (item instanceof Movie movie) {
+            tokens.addAll(tokenize(movie.getDirector()));
+            tokens.addAll(tokenize(movie.getActor()));
+        }
+        return tokens;
+    }
+
+    /** 글자/숫자가 아닌 문자로 나누고 소문자로 (한글은 어절 단위) */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        if (text == null) {
+            return tokens;
+        }
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (Character.isLetterOrDigit(c)) {
+                current.append(c);
+            } else if (!current.isEmpty()) {
+                tokens.add(current.toString().toLowerCase(Locale.ROOT));
+                current.setLength(0);
+            }
+        }
+        if (!current.isEmpty()) {
+            tokens.add(current.toString().toLowerCase(Locale.ROOT));
+        }
+        return tokens;
+    }
+}
@@ -0,0 +1,55 @@
+package jpabook.jpashop.search;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * 시작 시 전체 상품을 스트림으로 읽어 검색 색인 구성 (상품을 한꺼번에 메모리에 올리지 않음)
+ */
+@Slf4j
+@Component
+public class CatalogIndexLoader {
+
+    private static final int FETCH_SIZE = 1000;
+
+    private final CatalogIndex catalogIndex;
+    private final ItemRepository itemRepository;
+    private final EntityManager em;
+    private final TransactionTemplate readOnly;
+
+    public CatalogIndexLoader(CatalogIndex catalogIndex, ItemRepository itemRepository, EntityManager em,
+                              PlatformTransactionManager transactionManager) {
+        this.catalogIndex = catalogIndex;
+        this.itemRepository = itemRepository;
+        this.em = em;
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        long begin = System.currentTimeMillis();
+        readOnly.executeWithoutResult(status -> {
+            long count = 0;
+            try (Stream<Item> items = itemRepository.streamAll(FETCH_SIZE)) {
+                for (Iterator<Item> it = items.iterator(); it.hasNext(); ) {
+                    catalogIndex.index(it.next());
+                    if (++count % FETCH_SIZE == 0) {
+                        em.clear();
+                    }
+                }
+            }
+        });
+        log.info("상품 검색 색인 구성: {}건, {}ms", catalogIndex.size(), System.currentTimeMillis() - begin);
+    }
+}
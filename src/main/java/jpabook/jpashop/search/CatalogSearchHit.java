@@ -0,0 +1,7 @@
+package jpabook.jpashop.search;
+
+/**
+ * 상품 검색 결과 한 건 (score: 검색어 중 단어 전체가 일치한 수 x 2 + 앞부분만 일치한 수)
+ */
+public record CatalogSearchHit(Long itemId, String name, int price, int score) {
+}
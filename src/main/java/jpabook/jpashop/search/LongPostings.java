@@ -0,0 +1,104 @@
+package jpabook.jpashop.search;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 상품 id 목록 (정렬된 long[] - 박싱 없이 이진 탐색/병합)
+ */
+final class LongPostings {
+
+    private long[] ids = new long[4];
+    private int size;
+
+    /** id 추가 (이미 있으면 false) - id 가 커지는 순서로 들어오면 뒤에 붙이기만 한다 */
+    boolean add(long id) {
+        if (size == 0 || ids[size - 1] < id) {
+            ensureCapacity();
+            ids[size++] = id;
+            return true;
+        }
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index >= 0) {
+            return false;
+        }
+        int insertAt = -index - 1;
+        ensureCapacity();
+        System.arraycopy(ids, insertAt, ids, insertAt + 1, size - insertAt);
+        ids[insertAt] = id;
+        size++;
+        return true;
+    }
+
+    boolean remove(long id) {
+        int index = Arrays.binarySearch(ids, 0, size, id);
+        if (index < 0) {
+            return false;
+        }
+        System.arraycopy(ids, index + 1, ids, index, size - index - 1);
+        size--;
+        return true;
+    }
+
+    boolean contains(long id) {
+        return Arrays.binarySearch(ids, 0, size, id) >= 0;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    long[] toArray() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    private void ensureCapacity() {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+        }
+    }
+
+    /** 여러 목록의 합집합 (정렬, 중복 제거) */
+    static long[] union(Collection<LongPostings> postings) {
+        int total = 0;
+        for (LongPostings p : postings) {
+            total += p.size;
+        }
+        long[] merged = new long[total];
+        int offset = 0;
+        for (LongPostings p : postings) {
+            System.arraycopy(p.ids, 0, merged, offset, p.size);
+            offset += p.size;
+        }
+        if (postings.size() > 1) {
+            Arrays.sort(merged);
+        }
+        int distinct = 0;
+        for (int i = 0; i < merged.length; i++) {
+            if (i == 0 || merged[i] != merged[distinct - 1]) {
+                merged[distinct++] = merged[i];
+            }
+        }
+        return distinct == merged.length ? merged : Arrays.copyOf(merged, distinct);
+    }
+
+    /** 정렬된 두 배열의 교집합 */
+    static long[] intersect(long[] a, long[] b) {
+        long[] result = new long[Math.min(a.length, b.length)];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] == b[j]) {
+                result[size++] = a[i];
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+        return Arrays.copyOf(result, size);
+    }
+}
@@ -0,0 +1,19 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * 주문 일괄 취소 결과 (skipped: 이미 취소됐거나 배송 완료/배송 처리 중이라 취소하지 않은 주문)
+ */
+@Getter
+@AllArgsConstructor
+public class BulkCancelResult {
+    private final long requested;
+    private final long cancelled;
+    private final long elapsedMillis;
+
+    public long getSkipped() {
+        return requested - cancelled;
+    }
+}
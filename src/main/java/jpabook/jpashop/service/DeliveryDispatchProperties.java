@@ -0,0 +1,21 @@
+package jpabook.jpashop.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 배송 처리 설정 (application.yml 의 jpashop.delivery.dispatch.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jpashop.delivery.dispatch")
+public class DeliveryDispatchProperties {
+    private boolean enabled = false; //true 면 시작 시 배송 처리 워커 실행
+    private int workers = 4; //워커(가상 스레드) 수
+    private int batchSize = 100; //한 번에 선점/완료 처리할 배송 수
+    private Duration pollInterval = Duration.ofSeconds(1); //처리할 배송이 없을 때 대기 시간
+    private Duration claimLease = Duration.ofMinutes(5); //선점 후 이 시간이 지나도 끝나지 않으면 다른 워커가 다시 선점
+}
@@ -0,0 +1,176 @@
+package jpabook.jpashop.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jpabook.jpashop.repository.DeliveryRepository;
+import jpabook.jpashop.repository.query.DeliveryBacklogRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * 배송 처리 워커
+ * 워커(가상 스레드)마다 READY 배송을 batchSize 건씩 선점(select ... for update skip locked + 선점 컬럼)하고,
+ * 트랜잭션 밖에서 DeliveryHandler 로 처리한 뒤 성공한 건을 UPDATE 한 번으로 COMP 처리한다.
+ * 선점 컬럼에 인스턴스/워커 이름이 남으므로 여러 인스턴스가 같은 DB 를 나눠 처리해도 중복 처리되지 않는다.
+ * 선점된 배송의 주문은 취소할 수 없고(Order.cancel), 그 사이 취소된 주문의 배송은 COMP 처리하지 않는다.
+ */
+@Slf4j
+@Service
+public class DeliveryDispatchService {
+
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    private final DeliveryRepository deliveryRepository;
+    private final DeliveryDispatchProperties properties;
+    private final ObjectProvider<DeliveryHandler> handlerProvider;
+    private final TransactionTemplate transactionTemplate;
+    private final String instanceId = UUID.randomUUID().toString().substring(0, 8);
+    private final List<Thread> workers = new ArrayList<>();
+    private final MeterRegistry meterRegistry;
+    private volatile boolean running;
+    private volatile BacklogSnapshot backlog;
+
+    private final Counter dispatched;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    public DeliveryDispatchService(DeliveryRepository deliveryRepository, DeliveryDispatchProperties properties,
+                                   ObjectProvider<DeliveryHandler> handlerProvider,
+                                   PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.deliveryRepository = deliveryRepository;
+        this.properties = properties;
+        this.handlerProvider = handlerProvider;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+
+        this.dispatched = Counter.builder("jpashop.delivery.dispatched")
+                .description("COMP 처리한 배송 수").register(meterRegistry);
+        this.failed = Counter.builder("jpashop.delivery.failed")
+                .description("처리 실패로 선점을 푼 배송 수").register(meterRegistry);
+        this.batchTimer = Timer.builder("jpashop.delivery.batch")
+                .description("배송 묶음 하나 선점 ~ 완료 시간").publishPercentileHistogram().register(meterRegistry);
+    }
+
+    /** 배송 대기 현황 (조회 시각과 함께 보관) */
+    private record BacklogSnapshot(DeliveryBacklogRow row, long readAt) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // 대기 현황 게이지는 워커를 돌리는 인스턴스만 등록 (scrape 마다 조인 쿼리가 나가지 않도록 pollInterval 동안 재사용)
+        Gauge.builder("jpashop.delivery.backlog", this, s -> s.backlog().getCount())
+                .description("배송 대기 건수").register(meterRegistry);
+        Gauge.builder("jpashop.delivery.lag", this, DeliveryDispatchService::lagSeconds)
+                .description("가장 오래 기다린 배송 대기 건의 주문 후 경과 시간").baseUnit("seconds").register(meterRegistry);
+        running = true;
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            String owner = instanceId + "-" + i;
+            workers.add(Thread.ofVirtual().name("delivery-dispatch-" + i).start(() -> dispatchLoop(owner)));
+        }
+    }
+
+    /**
+     * 처리 중인 묶음은 끝까지 완료/선점 해제하고 멈춘다 (트랜잭션 도중 인터럽트하지 않음)
+     * 쉬고 있는 워커는 pollInterval 이 지나면 running 을 보고 끝난다.
+     */
+    @PreDestroy
+    void stop() {
+        running = false;
+        long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MILLIS;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+    }
+
+    private void dispatchLoop(String owner) {
+        DeliveryHandler handler = handlerProvider.getIfAvailable(() -> deliveryId -> { });
+        while (running) {
+            try {
+                if (dispatchOnce(owner, handler) == 0) {
+                    Thread.sleep(properties.getPollInterval().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("배송 처리 중 오류", e);
+            }
+        }
+    }
+
+    /**
+     * 배송 한 묶음 선점 → 처리 → 완료
+     * @param owner 선점자 이름 (워커마다 달라야 함)
+     * @return 완료 처리한 배송 수 (0이면 처리할 배송 없음)
+     */
+    public int dispatchOnce(String owner, DeliveryHandler handler) {
+        Timer.Sample sample = Timer.start();
+        LocalDateTime now = LocalDateTime.now();
+        List<Long> claimed = transactionTemplate.execute(status -> deliveryRepository.claimReady(
+                owner, properties.getBatchSize(), now, now.minus(properties.getClaimLease())));
+        if (claimed == null || claimed.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> succeeded = new ArrayList<>(claimed.size());
+        List<Long> failures = new ArrayList<>();
+        for (Long deliveryId : claimed) {
+            try {
+                handler.dispatch(deliveryId);
+                succeeded.add(deliveryId);
+            } catch (RuntimeException e) {
+                log.warn("배송 처리 실패 id={}: {}", deliveryId, e.getMessage());
+                failures.add(deliveryId);
+            }
+        }
+
+        Integer completed = transactionTemplate.execute(status -> {
+            if (!failures.isEmpty()) {
+                deliveryRepository.releaseClaims(failures, owner);
+            }
+            return succeeded.isEmpty() ? 0 : deliveryRepository.markCompleted(succeeded, owner);
+        });
+        int count = completed == null ? 0 : completed;
+        dispatched.increment(count);
+        failed.increment(failures.size());
+        sample.stop(batchTimer);
+        return count;
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = backlog().getOldestOrderDate();
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+
+    private DeliveryBacklogRow backlog() {
+        BacklogSnapshot snapshot = backlog;
+        long now = System.currentTimeMillis();
+        if (snapshot == null || now - snapshot.readAt() >= properties.getPollInterval().toMillis()) {
+            snapshot = new BacklogSnapshot(deliveryRepository.findReadyBacklog(), now);
+            backlog = snapshot;
+        }
+        return snapshot.row();
+    }
+}
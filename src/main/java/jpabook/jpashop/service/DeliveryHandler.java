@@ -0,0 +1,10 @@
+package jpabook.jpashop.service;
+
+/**
+ * 배송 한 건 처리 (택배사 연동 등)
+ * 예외를 던지면 해당 배송은 완료 처리하지 않고 선점을 풀어 다음에 다시 처리한다.
+ */
+@FunctionalInterface
+public interface DeliveryHandler {
+    void dispatch(Long deliveryId);
+}
@@ -0,0 +1,38 @@
+package jpabook.jpashop.service;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 로컬/테스트용 발행 대상 - 최근 capacity 건만 메모리에 보관
+ */
+public class InMemoryOutboxSink implements OutboxSink {
+
+    private final int capacity;
+    private final Deque<OutboxMessage> messages = new ArrayDeque<>();
+    private long published;
+
+    public InMemoryOutboxSink(int capacity) {
+        this.capacity = capacity;
+    }
+
+    @Override
+    public synchronized void publish(List<OutboxMessage> batch) {
+        for (OutboxMessage message : batch) {
+            if (messages.size() == capacity) {
+                messages.pollFirst();
+            }
+            messages.addLast(message);
+        }
+        published += batch.size();
+    }
+
+    public synchronized List<OutboxMessage> recent() {
+        return List.copyOf(messages);
+    }
+
+    public synchronized long getPublished() {
+        return published;
+    }
+}
@@ -0,0 +1,32 @@
+package jpabook.jpashop.service;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * 상품 일괄 등록 결과
+ * notFoundIds: 수정하려 했지만 없는 상품 id, typeMismatchIds: 상품 종류(dtype)가 달라서 수정하지 않은 상품 id
+ */
+@Getter
+@AllArgsConstructor
+public class ItemImportResult {
+    private final long inserted;
+    private final long updated;
+    private final List<Long> notFoundIds;
+    private final List<Long> typeMismatchIds;
+    private final long elapsedMillis;
+
+    public long getRows() {
+        return inserted + updated;
+    }
+
+    public long getRejected() {
+        return notFoundIds.size() + typeMismatchIds.size();
+    }
+
+    public double getRowsPerSecond() {
+        return elapsedMillis == 0 ? getRows() : getRows() * 1000.0 / elapsedMillis;
+    }
+}
@@ -0,0 +1,22 @@
+package jpabook.jpashop.service;
+
+import lombok.Data;
+
+/**
+ * 상품 일괄 등록 파일의 한 행 (CSV 헤더 / JSONL 필드 이름과 같음)
+ * id 가 있으면 수정, 없으면 등록. dtype: B(Book), A(Album), M(Movie)
+ */
+@Data
+public class ItemImportRow {
+    private Long id;
+    private String dtype;
+    private String name;
+    private int price;
+    private int stockQuantity;
+    private String author;
+    private String isbn;
+    private String artist;
+    private String etc;
+    private String director;
+    private String actor;
+}
@@ -0,0 +1,233 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.domain.item.Movie;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.search.CatalogIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 상품 일괄 등록 (CSV / JSONL)
+ * 파일을 한 줄씩 읽어 CHUNK_SIZE 건마다 한 트랜잭션으로 저장한다.
+ * - 등록: persist + FLUSH_SIZE 건마다 flush/clear (JDBC insert 배치, 영속성 컨텍스트 비움)
+ * - 수정: merge 대신 JDBC 배치 UPDATE (없는 상품, 종류(dtype)가 다른 상품은 수정하지 않고 결과에 id 로 알려줌)
+ */
+@Slf4j
+@Service
+public class ItemImportService {
+
+    public enum Format {
+        CSV, JSONL
+    }
+
+    static final int CHUNK_SIZE = 1000; //트랜잭션 하나에 저장할 행 수
+    private static final int FLUSH_SIZE = 100; //hibernate.jdbc.batch_size 와 맞춤
+
+    private final ItemRepository itemRepository;
+    private final CatalogIndex catalogIndex;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public ItemImportService(ItemRepository itemRepository, CatalogIndex catalogIndex, ObjectMapper objectMapper,
+                             PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.catalogIndex = catalogIndex;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
+    }
+
+    /** 일괄 등록 중 누적 결과 */
+    private static class Counts {
+        private long inserted;
+        private long updated;
+        private final List<Long> notFoundIds = new ArrayList<>();
+        private final List<Long> typeMismatchIds = new ArrayList<>();
+    }
+
+    public ItemImportResult importItems(InputStream in, Format format) throws IOException {
+        long begin = System.currentTimeMillis();
+        Counts counts = new Counts();
+        List<Item> inserts = new ArrayList<>(CHUNK_SIZE);
+        List<Item> updates = new ArrayList<>(CHUNK_SIZE);
+
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8))) {
+            String[] header = format == Format.CSV ? parseCsvLine(reader.readLine()) : null;
+            String line;
+            int lineNumber = format == Format.CSV ? 1 : 0;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isBlank()) {
+                    continue;
+                }
+                ItemImportRow row = format == Format.CSV ? readCsv(header, line) : readJson(line);
+                Item item = toItem(row, lineNumber);
+                (item.getId() == null ? inserts : updates).add(item);
+
+                if (inserts.size() + updates.size() == CHUNK_SIZE) {
+                    writeChunk(inserts, updates, counts);
+                }
+            }
+        }
+        writeChunk(inserts, updates, counts);
+
+        ItemImportResult result = new ItemImportResult(counts.inserted, counts.updated,
+                counts.notFoundIds, counts.typeMismatchIds, System.currentTimeMillis() - begin);
+        log.info("상품 일괄 등록: 등록 {}건, 수정 {}건, 제외 {}건 (없는 상품 {}, 종류 다름 {}), {}ms ({} rows/s)",
+                result.getInserted(), result.getUpdated(), result.getRejected(), result.getNotFoundIds().size(),
+                result.getTypeMismatchIds().size(), result.getElapsedMillis(),
+                String.format("%.0f", result.getRowsPerSecond()));
+        return result;
+    }
+
+    private void writeChunk(List<Item> inserts, List<Item> updates, Counts counts) {
+        if (inserts.isEmpty() && updates.isEmpty()) {
+            return;
+        }
+        List<Item> updated = transactionTemplate.execute(status -> {
+            for (int i = 0; i < inserts.size(); i++) {
+                itemRepository.save(inserts.get(i));
+                if ((i + 1) % FLUSH_SIZE == 0) {
+                    itemRepository.flushAndClear();
+                }
+            }
+            itemRepository.flushAndClear();
+            return updates.isEmpty() ? List.<Item>of() : update(updates, counts);
+        });
+        counts.inserted += inserts.size();
+        counts.updated += updated.size();
+        // 커밋된 뒤 검색 색인 갱신 - 등록한 상품은 저장한 그대로, 수정한 상품은 커밋된 행을 다시 읽어서
+        inserts.forEach(catalogIndex::index);
+        indexCommitted(updated);
+        inserts.clear();
+        updates.clear();
+    }
+
+    /** 실제로 수정된 상품만 DB 에서 다시 읽어 색인 (없는 id, 종류가 다른 행은 색인하지 않음) */
+    private void indexCommitted(List<Item> updated) {
+        if (updated.isEmpty()) {
+            return;
+        }
+        List<Long> ids = updated.stream().map(Item::getId).toList();
+        readOnlyTransactionTemplate.executeWithoutResult(status ->
+                itemRepository.findAllById(ids).forEach(catalogIndex::index));
+    }
+
+    /**
+     * 배치 UPDATE 후 수정되지 않은 행은 없는 상품인지 종류가 다른 상품인지 구분해서 기록
+     * @return 실제로 수정된 상품
+     */
+    private List<Item> update(List<Item> updates, Counts counts) {
+        Set<Long> updatedIds = new HashSet<>(itemRepository.bulkUpdate(updates));
+        if (updatedIds.size() == updates.size()) {
+            return updates;
+        }
+        List<Item> updated = new ArrayList<>(updatedIds.size());
+        List<Item> rejected = new ArrayList<>();
+        for (Item item : updates) {
+            (updatedIds.contains(item.getId()) ? updated : rejected).add(item);
+        }
+        Map<Long, String> dtypes = itemRepository.findDtypes(rejected.stream().map(Item::getId).toList());
+        for (Item item : rejected) {
+            (dtypes.containsKey(item.getId()) ? counts.typeMismatchIds : counts.notFoundIds).add(item.getId());
+        }
+        return updated;
+    }
+
+    private ItemImportRow readJson(String line) throws IOException {
+        return objectMapper.readValue(line, ItemImportRow.class);
+    }
+
+    private ItemImportRow readCsv(String[] header, String line) {
+        String[] values = parseCsvLine(line);
+        Map<String, String> fields = new HashMap<>();
+        for (int i = 0; i < header.length && i < values.length; i++) {
+            if (!values[i].isEmpty()) {
+                fields.put(header[i].trim(), values[i]);
+            }
+        }
+        return objectMapper.convertValue(fields, ItemImportRow.class);
+    }
+
+    private static Item toItem(ItemImportRow row, int lineNumber) {
+        Item item = switch (row.getDtype() == null ? "" : row.getDtype()) {
+            case "B" -> {
+                Book book = new Book();
+                book.setAuthor(row.getAuthor());
+                book.setIsbn(row.getIsbn());
+                yield book;
+            }
+            case "A" -> {
+                Album album = new Album();
+                album.setArtist(row.getArtist());
+                album.setEtc(row.getEtc());
+                yield album;
+            }
+            case "M" -> {
+                Movie movie = new Movie();
+                movie.setDirector(row.getDirector());
+                movie.setActor(row.getActor());
+                yield movie;
+            }
+            default -> throw new IllegalArgumentException(
+                    lineNumber + "번째 줄: 알 수 없는 상품 종류입니다. dtype=" + row.getDtype());
+        };
+        item.setId(row.getId());
+        item.setName(row.getName());
+        item.setPrice(row.getPrice());
+        item.setStockQuantity(row.getStockQuantity());
+        return item;
+    }
+
+    /** 쉼표로 나누되 따옴표 안의 쉼표는 무시, "" 는 따옴표 하나로 */
+    static String[] parseCsvLine(String line) {
+        if (line == null) {
+            throw new IllegalArgumentException("CSV 헤더가 없습니다.");
+        }
+        List<String> values = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        boolean quoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+                    current.append('"');
+                    i++;
+                } else if (c == '"') {
+                    quoted = false;
+                } else {
+                    current.append(c);
+                }
+            } else if (c == '"') {
+                quoted = true;
+            } else if (c == ',') {
+                values.add(current.toString());
+                current.setLength(0);
+            } else {
+                current.append(c);
+            }
+        }
+        values.add(current.toString());
+        return values.toArray(new String[0]);
+    }
+}
@@ -3,23 +3,34 @@ package jpabook.jpashop.service;
 import jpabook.jpashop.domain.item.Book;
 import jpabook.jpashop.domain.item.Item;
 import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.query.ItemListRow;
+import jpabook.jpashop.search.CatalogIndex;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import java.util.List;
 @Service
 @Transactional(readOnly = true)
 @RequiredArgsConstructor
 public class ItemService {
     private final ItemRepository itemRepository;
+    private final CatalogIndex catalogIndex;
 
+    @Timed(value = "jpashop.item.save", histogram = true)
     @Transactional
     public void saveItem(Item item) {
         itemRepository.save(item);
+        indexAfterCommit(item);
     }
     public List<Item> findItems() {
         return itemRepository.findAll();
     }
+    public List<ItemListRow> findItemRows() {
+        return itemRepository.findAllRows();
+    }
     public Item findOne(Long itemId) {
         return itemRepository.findOne(itemId);
     }
@@ -27,6 +38,7 @@ public class ItemService {
     /**
      * 영속성 컨텍스트가 자동 변경
      */
+    @Timed(value = "jpashop.item.update", histogram = true)
     @Transactional
     public void updateItem(Long id, String name, int price, int stockQuantity)
     {
@@ -34,5 +46,16 @@ public class ItemService {
         item.setName(name);
         item.setPrice(price);
         item.setStockQuantity(stockQuantity);
+        indexAfterCommit(item);
+    }
+
+    /** 커밋된 경우에만 검색 색인 갱신 */
+    private void indexAfterCommit(Item item) {
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                catalogIndex.index(item);
+            }
+        });
     }
 }
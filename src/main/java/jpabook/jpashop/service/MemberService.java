@@ -3,6 +3,8 @@ package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.Member;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.query.MemberListRow;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -16,6 +18,7 @@ public class MemberService {
 
     private final MemberRepository memberRepository;
 
+    @Timed(value = "jpashop.member.join", histogram = true)
     @Transactional
     //회원 가입
     public Long join(Member member){
@@ -25,9 +28,8 @@ public class MemberService {
     }
 
     private void validateDuplicateMember(Member member) {
-        //EXCEPTION
-        List<Member> findMembers = memberRepository.findByName(member.getName());
-        if(!findMembers.isEmpty()){
+        //EXCEPTION (동시 가입은 member.name 유니크 제약조건이 막음)
+        if(memberRepository.existsByName(member.getName())){
             throw new IllegalStateException("이미 존재하는 회원입니다.");
         }
     }
@@ -37,6 +39,11 @@ public class MemberService {
         return memberRepository.findAll();
     }
 
+    //회원 목록 화면용 조회 (DTO)
+    public List<MemberListRow> findMemberRows(){
+        return memberRepository.findAllRows();
+    }
+
     //회원 단건 조회
     public Member findOne(Long memberId){
         return memberRepository.findOne(memberId);
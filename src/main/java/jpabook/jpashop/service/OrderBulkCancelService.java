@@ -0,0 +1,118 @@
+package jpabook.jpashop.service;
+
+import io.micrometer.core.annotation.Timed;
+import jpabook.jpashop.repository.DeliveryRepository;
+import jpabook.jpashop.repository.ItemRepository;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.query.ItemCountRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 주문 일괄 취소 (결제 실패 정리, 이상 거래 일괄 처리 등)
+ * 주문을 엔티티로 읽지 않고 CHUNK_SIZE 건씩 한 트랜잭션에서
+ * 1) 주문 상태인 주문, 이어서 그 배송 중 취소 가능한 것(배송 완료/배송 처리 중 아님)만 잠금 조회
+ * 2) 주문 상태 벌크 UPDATE 한 번
+ * 3) 상품별 수량 합계만큼 재고 UPDATE (상품당 한 번)
+ * 4) 취소 이벤트를 아웃박스에 기록
+ * 주문 합계(totalPrice)는 Order.cancel 과 같이 그대로 둔다.
+ */
+@Slf4j
+@Service
+public class OrderBulkCancelService {
+
+    static final int CHUNK_SIZE = 500;
+
+    private final OrderRepository orderRepository;
+    private final DeliveryRepository deliveryRepository;
+    private final ItemRepository itemRepository;
+    private final OutboxService outboxService;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderBulkCancelService(OrderRepository orderRepository, DeliveryRepository deliveryRepository,
+                                  ItemRepository itemRepository, OutboxService outboxService,
+                                  PlatformTransactionManager transactionManager) {
+        this.orderRepository = orderRepository;
+        this.deliveryRepository = deliveryRepository;
+        this.itemRepository = itemRepository;
+        this.outboxService = outboxService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    /** 주문 id 목록으로 취소 */
+    @Timed(value = "jpashop.order.bulk-cancel", histogram = true)
+    public BulkCancelResult cancelOrders(List<Long> orderIds) {
+        long begin = System.currentTimeMillis();
+        List<Long> distinctIds = orderIds.stream().distinct().toList();
+        long cancelled = 0;
+        for (int from = 0; from < distinctIds.size(); from += CHUNK_SIZE) {
+            cancelled += cancelChunk(distinctIds.subList(from, Math.min(from + CHUNK_SIZE, distinctIds.size())));
+        }
+        return result(distinctIds.size(), cancelled, begin);
+    }
+
+    /**
+     * 이름이 정확히 일치하는 회원의 주문 상태 주문 전체 취소
+     * @throws IllegalArgumentException 회원 이름이 비어 있음 (전체 주문 취소 방지)
+     */
+    @Timed(value = "jpashop.order.bulk-cancel", histogram = true)
+    public BulkCancelResult cancelMemberOrders(String memberName) {
+        if (!StringUtils.hasText(memberName)) {
+            throw new IllegalArgumentException("일괄 취소할 회원 이름이 없습니다.");
+        }
+        long begin = System.currentTimeMillis();
+        long requested = 0;
+        long cancelled = 0;
+        Long afterId = 0L;
+        while (true) {
+            List<Long> ids = orderRepository.findOrderedIdsByMemberName(memberName, afterId, CHUNK_SIZE);
+            if (ids.isEmpty()) {
+                break;
+            }
+            requested += ids.size();
+            cancelled += cancelChunk(ids);
+            afterId = ids.get(ids.size() - 1);
+        }
+        return result(requested, cancelled, begin);
+    }
+
+    private int cancelChunk(List<Long> orderIds) {
+        Integer cancelled = transactionTemplate.execute(status -> {
+            Map<Long, Long> deliveryIdByOrderId = orderRepository.lockOrderedDeliveryIds(orderIds);
+            if (deliveryIdByOrderId.isEmpty()) {
+                return 0;
+            }
+            Set<Long> cancelableDeliveryIds = new HashSet<>(
+                    deliveryRepository.lockCancelableIds(deliveryIdByOrderId.values()));
+            List<Long> cancelable = deliveryIdByOrderId.entrySet().stream()
+                    .filter(e -> cancelableDeliveryIds.contains(e.getValue()))
+                    .map(Map.Entry::getKey)
+                    .toList();
+            if (cancelable.isEmpty()) {
+                return 0;
+            }
+            int updated = orderRepository.bulkCancel(cancelable);
+            for (ItemCountRow row : orderRepository.sumCountsByItem(cancelable)) {
+                itemRepository.increaseStock(row.getItemId(), Math.toIntExact(row.getCount()));
+            }
+            outboxService.ordersCancelled(cancelable);
+            return updated;
+        });
+        return cancelled == null ? 0 : cancelled;
+    }
+
+    private static BulkCancelResult result(long requested, long cancelled, long begin) {
+        BulkCancelResult result = new BulkCancelResult(requested, cancelled, System.currentTimeMillis() - begin);
+        log.info("주문 일괄 취소: 요청 {}건, 취소 {}건, 제외 {}건, {}ms", result.getRequested(), result.getCancelled(),
+                result.getSkipped(), result.getElapsedMillis());
+        return result;
+    }
+}
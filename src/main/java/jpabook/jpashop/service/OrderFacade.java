@@ -0,0 +1,89 @@
+package jpabook.jpashop.service;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * 주문/취소 진입점
+ * 낙관적 락(@Version) 충돌은 커밋 시점에 발생하므로 트랜잭션 밖인 이곳에서 새 트랜잭션으로 재시도한다.
+ * COALESCED 모드의 묶음 차감도 주문 트랜잭션을 열기 전에 이곳에서 한다.
+ * (커넥션을 잡은 채로 다른 트랜잭션의 커밋을 기다리면, 커넥션 풀이 대기자로 가득 차서 리더가 커넥션을 못 얻는다)
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderFacade {
+
+    private final OrderService orderService;
+    private final StockProperties stockProperties;
+    private final StockReservationCoordinator stockReservationCoordinator;
+
+    public Long order(Long memberId, Long itemId, int count) {
+        return order(memberId, Map.of(itemId, count));
+    }
+
+    public Long order(Long memberId, Map<Long, Integer> itemCounts) {
+        if (stockProperties.getMode() == StockMode.COALESCED
+                && !TransactionSynchronizationManager.isActualTransactionActive()) {
+            return orderWithReservation(memberId, itemCounts);
+        }
+        return retryOnConflict(() -> orderService.order(memberId, itemCounts));
+    }
+
+    /**
+     * 트랜잭션 밖에서 재고를 먼저 차감(묶음 커밋)하고 주문 트랜잭션을 연다.
+     * 차감 도중이나 주문이 실패하면 이미 차감한 재고를 되돌린다.
+     */
+    private Long orderWithReservation(Long memberId, Map<Long, Integer> itemCounts) {
+        Map<Long, Integer> reserved = new LinkedHashMap<>();
+        try {
+            for (Long itemId : itemCounts.keySet().stream().sorted().toList()) {
+                int count = itemCounts.get(itemId);
+                stockReservationCoordinator.reserve(itemId, count);
+                reserved.put(itemId, count);
+            }
+            Long orderId = retryOnConflict(() -> orderService.orderReserved(memberId, itemCounts));
+            reserved.clear(); //주문 커밋 완료 → 되돌리지 않음
+            return orderId;
+        } finally {
+            reserved.forEach(stockReservationCoordinator::release);
+        }
+    }
+
+    public void cancelOrder(Long orderId) {
+        retryOnConflict(() -> {
+            orderService.cancelOrder(orderId);
+            return null;
+        });
+    }
+
+    private <T> T retryOnConflict(Supplier<T> action) {
+        int attempt = 0;
+        while (true) {
+            try {
+                return action.get();
+            } catch (OptimisticLockingFailureException e) {
+                if (++attempt > stockProperties.getMaxRetries()) {
+                    throw e;
+                }
+                backoff(attempt);
+            }
+        }
+    }
+
+    private void backoff(int attempt) {
+        long max = stockProperties.getRetryBackoffMillis() * attempt;
+        try {
+            Thread.sleep(ThreadLocalRandom.current().nextLong(max + 1)); //동시에 재시도하지 않도록 지터
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("주문 재시도 중 인터럽트되었습니다.", e);
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package jpabook.jpashop.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 비동기 주문 접수 설정 (application.yml 의 jpashop.order.intake.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jpashop.order.intake")
+public class OrderIntakeProperties {
+    private boolean enabled = false; //true 면 POST /order 는 큐에 넣고 바로 주문 토큰을 돌려줌
+    private int queueCapacity = 10_000; //대기 주문 최대 수 (넘치면 503)
+    private int workers = 4; //큐를 비우는 워커 수 (= 동시에 쓰는 DB 커넥션 수)
+    private int groupSize = 20; //한 트랜잭션에 묶어서 커밋할 최대 주문 수
+    private Duration ticketRetention = Duration.ofMinutes(10); //처리 끝난 주문 토큰 보관 시간
+}
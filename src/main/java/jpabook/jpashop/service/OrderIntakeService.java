@@ -0,0 +1,193 @@
+package jpabook.jpashop.service;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 비동기 주문 접수 파이프라인
+ * 요청 스레드는 제한된 크기의 큐에 넣고 토큰만 받아 바로 반환하고,
+ * 워커(가상 스레드)가 큐를 비우면서 주문을 groupSize 건씩 한 트랜잭션으로 묶어 커밋한다.
+ * 묶음 중 하나라도 실패하면 묶음 전체를 롤백하고 한 건씩 다시 처리한다.
+ * 처리 끝난 토큰은 ticketRetention 이 지나면 지운다. (큐가 계속 차 있어도 PURGE_INTERVAL 마다)
+ * 종료할 때는 처리 중인 묶음까지 끝내고, 큐에 남은 주문은 실패로 표시한다.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class OrderIntakeService {
+
+    private static final long POLL_TIMEOUT_MILLIS = 1000;
+    private static final long PURGE_INTERVAL_MILLIS = 1000;
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    private final OrderService orderService;
+    private final OrderFacade orderFacade;
+    private final OrderIntakeProperties properties;
+    private final PlatformTransactionManager transactionManager;
+
+    private final Map<String, OrderTicket> tickets = new ConcurrentHashMap<>();
+    private final List<Thread> workers = new ArrayList<>();
+    private final AtomicLong lastPurgeMillis = new AtomicLong();
+    private BlockingQueue<OrderRequest> queue;
+    private TransactionTemplate transactionTemplate;
+    private volatile boolean running;
+
+    private record OrderRequest(OrderTicket ticket, Long memberId, Long itemId, int count) {
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        queue = new ArrayBlockingQueue<>(properties.getQueueCapacity());
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        running = true;
+        for (int i = 0; i < properties.getWorkers(); i++) {
+            workers.add(Thread.ofVirtual().name("order-intake-" + i).start(this::drainLoop));
+        }
+    }
+
+    /**
+     * 워커는 처리 중인 묶음을 마치고 끝난다. (트랜잭션 도중에 인터럽트하면 JDBC 연결이 끊길 수 있어 인터럽트하지 않음)
+     * 큐에 남은 주문은 처리하지 않고 실패로 표시해서 PENDING 으로 남지 않게 한다.
+     */
+    @PreDestroy
+    void stop() {
+        if (!running) {
+            return;
+        }
+        running = false;
+        long deadline = System.currentTimeMillis() + STOP_TIMEOUT_MILLIS;
+        for (Thread worker : workers) {
+            try {
+                worker.join(Math.max(1, deadline - System.currentTimeMillis()));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        workers.clear();
+        List<OrderRequest> remaining = new ArrayList<>();
+        queue.drainTo(remaining);
+        remaining.forEach(r -> r.ticket().fail("서버가 종료되어 주문이 처리되지 않았습니다. 다시 주문해 주세요."));
+        if (!remaining.isEmpty()) {
+            log.warn("종료 시 처리하지 못한 주문 {}건을 실패 처리", remaining.size());
+        }
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    /**
+     * 주문 접수 (큐가 가득 차면 OrderQueueFullException)
+     * @return 결과 조회용 토큰
+     */
+    public String submit(Long memberId, Long itemId, int count) {
+        if (!properties.isEnabled()) {
+            throw new IllegalStateException("비동기 주문 접수가 꺼져 있습니다.");
+        }
+        if (!running) {
+            throw new OrderQueueFullException("서버가 종료 중이라 주문을 접수할 수 없습니다.");
+        }
+        OrderTicket ticket = new OrderTicket(UUID.randomUUID().toString());
+        tickets.put(ticket.getToken(), ticket);
+        OrderRequest request = new OrderRequest(ticket, memberId, itemId, count);
+        if (!queue.offer(request)) {
+            tickets.remove(ticket.getToken());
+            throw new OrderQueueFullException("주문이 몰려 접수할 수 없습니다. 잠시 후 다시 시도해 주세요.");
+        }
+        // running 확인과 offer 사이에 stop() 이 큐를 비웠으면 이 주문은 아무도 처리하지 않으므로 되돌린다
+        // (remove 에 실패하면 stop() 이나 워커가 이미 가져가서 결과를 정해 줌)
+        if (!running && queue.remove(request)) {
+            ticket.fail("서버가 종료되어 주문이 처리되지 않았습니다. 다시 주문해 주세요.");
+            tickets.remove(ticket.getToken());
+            throw new OrderQueueFullException("서버가 종료 중이라 주문을 접수할 수 없습니다.");
+        }
+        return ticket.getToken();
+    }
+
+    public OrderTicket findTicket(String token) {
+        return tickets.get(token);
+    }
+
+    private void drainLoop() {
+        List<OrderRequest> group = new ArrayList<>(properties.getGroupSize());
+        while (running) {
+            try {
+                purgeFinishedTicketsIfDue();
+                OrderRequest first = queue.poll(POLL_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                group.add(first);
+                queue.drainTo(group, properties.getGroupSize() - 1);
+                process(group);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("주문 접수 처리 중 오류", e);
+            } finally {
+                group.clear();
+            }
+        }
+    }
+
+    private void process(List<OrderRequest> group) {
+        List<Long> orderIds = new ArrayList<>(group.size());
+        try {
+            transactionTemplate.executeWithoutResult(status -> {
+                for (OrderRequest request : group) {
+                    orderIds.add(orderService.order(request.memberId(), request.itemId(), request.count()));
+                }
+            });
+        } catch (RuntimeException e) {
+            // 묶음 전체가 롤백됨 → 실패한 주문만 골라내기 위해 한 건씩 다시 처리
+            group.forEach(this::processOne);
+            return;
+        }
+        for (int i = 0; i < group.size(); i++) {
+            group.get(i).ticket().complete(orderIds.get(i));
+        }
+    }
+
+    private void processOne(OrderRequest request) {
+        try {
+            request.ticket().complete(orderFacade.order(request.memberId(), request.itemId(), request.count()));
+        } catch (RuntimeException e) {
+            request.ticket().fail(e.getMessage());
+        }
+    }
+
+    /** 워커 중 하나만 PURGE_INTERVAL 에 한 번 정리 */
+    private void purgeFinishedTicketsIfDue() {
+        long now = System.currentTimeMillis();
+        long last = lastPurgeMillis.get();
+        if (now - last >= PURGE_INTERVAL_MILLIS && lastPurgeMillis.compareAndSet(last, now)) {
+            purgeFinishedTickets();
+        }
+    }
+
+    private void purgeFinishedTickets() {
+        Instant expiredBefore = Instant.now().minus(properties.getTicketRetention());
+        tickets.values().removeIf(t -> t.getFinishedAt() != null && t.getFinishedAt().isBefore(expiredBefore));
+    }
+}
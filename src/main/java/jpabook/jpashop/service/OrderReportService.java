@@ -0,0 +1,40 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.OrderReportRepository;
+import jpabook.jpashop.repository.query.DailyRevenueRow;
+import jpabook.jpashop.repository.query.MemberRevenueRow;
+import jpabook.jpashop.repository.query.StatusRevenueRow;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * 주문 매출 리포트 (기간은 from ~ to 날짜 포함)
+ */
+@Service
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+public class OrderReportService {
+
+    private static final int MAX_MEMBER_LIMIT = 100;
+
+    private final OrderReportRepository orderReportRepository;
+
+    public List<DailyRevenueRow> dailyRevenue(LocalDate from, LocalDate to) {
+        return orderReportRepository.findDailyRevenue(OrderStatus.ORDER,
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    public List<StatusRevenueRow> statusRevenue(LocalDate from, LocalDate to) {
+        return orderReportRepository.findStatusRevenue(from.atStartOfDay(), to.plusDays(1).atStartOfDay());
+    }
+
+    public List<MemberRevenueRow> topMemberRevenue(LocalDate from, LocalDate to, int limit) {
+        return orderReportRepository.findTopMemberRevenue(OrderStatus.ORDER,
+                from.atStartOfDay(), to.plusDays(1).atStartOfDay(), Math.min(Math.max(limit, 1), MAX_MEMBER_LIMIT));
+    }
+}
@@ -1,64 +1,219 @@
 package jpabook.jpashop.service;
 
 import jpabook.jpashop.domain.*;
+import jpabook.jpashop.domain.exception.NotEnoughStockException;
 import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.repository.CursorPage;
+import jpabook.jpashop.repository.DeliveryRepository;
 import jpabook.jpashop.repository.ItemRepository;
 import jpabook.jpashop.repository.MemberRepository;
+import jpabook.jpashop.repository.OrderCursor;
 import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.repository.query.OrderExportRow;
+import jpabook.jpashop.repository.query.MemberOrderRow;
+import jpabook.jpashop.repository.query.OrderItemRow;
+import jpabook.jpashop.repository.query.OrderListRow;
 import jpabook.jpashop.domain.OrderSearch;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.Collectors;
 @Service
-@Transactional(readOnly = true) // 조회용 메서드는 기본적으로 readOnly
+@Transactional(readOnly = true) // 조회용 메서드는 기본적으로 readOnly (Hibernate 세션을 읽기 전용으로: 스냅샷 없음, FlushMode.MANUAL)
 @RequiredArgsConstructor
 public class OrderService {
 
     private final MemberRepository memberRepository;
     private final OrderRepository orderRepository;
+    private final DeliveryRepository deliveryRepository;
     private final ItemRepository itemRepository;
+    private final StockProperties stockProperties;
+    private final OutboxService outboxService;
+
+    private static final int EXPORT_FETCH_SIZE = 1000; //내보내기 시 DB 에서 한 번에 가져올 행 수
 
     /**
      * 주문 생성
      */
+    @Timed(value = "jpashop.order.create", histogram = true)
     @Transactional
     public Long order(Long memberId, Long itemId, int count) {
+        return order(memberId, Map.of(itemId, count));
+    }
+
+    /**
+     * 여러 상품 주문 생성 (장바구니 주문)
+     * 상품은 IN 쿼리 한 번으로 조회하고, 주문상품 insert 는 JDBC 배치로 묶인다.
+     * COALESCED 모드라도 이미 트랜잭션 안이라 묶음 차감을 기다릴 수 없으므로 조건부 UPDATE 로 차감한다.
+     * (묶음 차감은 트랜잭션 밖에서 미리 차감하는 OrderFacade 경로에서만 사용)
+     * @param itemCounts 상품 id → 주문 수량
+     */
+    @Timed(value = "jpashop.order.create", histogram = true)
+    @Transactional
+    public Long order(Long memberId, Map<Long, Integer> itemCounts) {
+        return createOrder(memberId, itemCounts, false);
+    }
+
+    /**
+     * 재고가 이미 차감된 상품으로 주문 생성 (OrderFacade 가 StockReservationCoordinator 로 미리 차감한 경우)
+     * 예외가 나면 차감한 재고는 호출한 쪽이 되돌려야 한다.
+     */
+    @Timed(value = "jpashop.order.create", histogram = true)
+    @Transactional
+    public Long orderReserved(Long memberId, Map<Long, Integer> itemCounts) {
+        return createOrder(memberId, itemCounts, true);
+    }
+
+    private Long createOrder(Long memberId, Map<Long, Integer> itemCounts, boolean stockReserved) {
+        if (itemCounts.isEmpty()) {
+            throw new IllegalArgumentException("주문할 상품이 없습니다.");
+        }
+
         // 엔티티 조회
         Member member = memberRepository.findOne(memberId);
-        Item item = itemRepository.findOne(itemId);
+        if (member == null) {
+            throw new IllegalArgumentException("존재하지 않는 회원입니다. id=" + memberId);
+        }
 
         // 배송 정보 생성
         Delivery delivery = new Delivery();
         delivery.setAddress(member.getAddress());
         delivery.setStatus(DeliveryStatus.READY);
 
-        // 주문 상품 생성
-        OrderItem orderItem = OrderItem.createOrderItem(item, item.getPrice(), count);
+        // 주문 상품 생성 (재고 차감)
+        OrderItem[] orderItems = createOrderItems(itemCounts, stockReserved);
 
         // 주문 생성
-        Order order = Order.createOrder(member, delivery, orderItem);
+        Order order = Order.createOrder(member, delivery, orderItems);
 
         // 주문 저장
         orderRepository.save(order);
+        outboxService.orderPlaced(order); //같은 트랜잭션으로 이벤트 기록
 
         return order.getId();
     }
 
+    /**
+     * 설정된 재고 차감 방식으로 주문 상품 생성
+     * 여러 주문이 같은 상품들을 잠글 때 교착상태가 나지 않도록 상품 id 순서로 처리
+     */
+    private OrderItem[] createOrderItems(Map<Long, Integer> itemCounts, boolean stockReserved) {
+        List<Long> itemIds = itemCounts.keySet().stream().sorted().toList();
+        StockMode mode = stockProperties.getMode();
+        boolean reserved = stockReserved || mode != StockMode.OPTIMISTIC;
+
+        // 조건부 UPDATE 로 먼저 차감 → 이후 조회한 item 은 차감된 재고를 가짐
+        if (!stockReserved && mode != StockMode.OPTIMISTIC) {
+            // 없는 상품은 UPDATE 0건이라 재고 부족과 구분되지 않으므로 먼저 확인
+            Set<Long> existing = itemRepository.findExistingIds(itemIds);
+            for (Long itemId : itemIds) {
+                if (!existing.contains(itemId)) {
+                    throw new IllegalArgumentException("존재하지 않는 상품입니다. id=" + itemId);
+                }
+            }
+            for (Long itemId : itemIds) {
+                if (itemRepository.decreaseStock(itemId, itemCounts.get(itemId)) == 0) {
+                    throw new NotEnoughStockException("need more stock");
+                }
+            }
+        }
+
+        Map<Long, Item> items = itemRepository.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+        OrderItem[] orderItems = new OrderItem[itemIds.size()];
+        for (int i = 0; i < itemIds.size(); i++) {
+            Long itemId = itemIds.get(i);
+            Item item = items.get(itemId);
+            if (item == null) {
+                throw new IllegalArgumentException("존재하지 않는 상품입니다. id=" + itemId);
+            }
+            int count = itemCounts.get(itemId);
+            // OPTIMISTIC: 읽고 차감 → 커밋 시 @Version 으로 충돌 감지
+            orderItems[i] = reserved
+                    ? OrderItem.createReservedOrderItem(item, item.getPrice(), count)
+                    : OrderItem.createOrderItem(item, item.getPrice(), count);
+        }
+        return orderItems;
+    }
+
     /**
      * 주문 취소
      */
+    @Timed(value = "jpashop.order.cancel", histogram = true)
     @Transactional
     public void cancelOrder(Long orderId) {
-        // 주문 엔티티 조회
-        Order order = orderRepository.findOne(orderId);
+        // 주문 엔티티 조회 (주문 → 배송 순서로 잠가서 워커의 배송 선점/완료와 겹치지 않게 함)
+        Order order = orderRepository.findOneForUpdate(orderId);
+        deliveryRepository.lockForCancel(order.getDelivery());
 
         // 주문 취소
         order.cancel();
+        outboxService.orderCancelled(orderId);
+    }
+
+    /** 주문 검색 (회원, 배송 페치 조인 + 주문상품 배치 조회, 키셋 페이징) */
+    @Timed(value = "jpashop.order.search", histogram = true)
+    public CursorPage<Order> findOrders(OrderSearch orderSearch) {
+        List<Order> orders = orderRepository.findAllWithMemberDelivery(orderSearch);
+        return CursorPage.of(orders, orderSearch.getPageSize(),
+                o -> new OrderCursor(o.getOrderDate(), o.getId()).encode());
+    }
+
+    /**
+     * 주문 내보내기 - 검색 조건에 맞는 주문상품을 한 행씩 sink 로 전달 (결과를 메모리에 모으지 않음)
+     * @return 내보낸 행 수
+     */
+    @Timed(value = "jpashop.order.export", histogram = true)
+    public long exportOrders(OrderSearch orderSearch, Consumer<OrderExportRow> sink) {
+        long count = 0;
+        //DTO 행은 영속성 컨텍스트에 올라가지 않으므로 비울 것이 없다
+        try (Stream<OrderExportRow> rows = orderRepository.streamExportRows(orderSearch, EXPORT_FETCH_SIZE)) {
+            for (Iterator<OrderExportRow> it = rows.iterator(); it.hasNext(); count++) {
+                sink.accept(it.next());
+            }
+        }
+        return count;
+    }
+
+    /**
+     * 회원 주문 내역 (키셋 페이징, 주문에 저장된 합계 사용)
+     * @param cursor 이전 페이지의 nextCursor (첫 페이지면 null)
+     */
+    @Timed(value = "jpashop.order.search", histogram = true)
+    public CursorPage<MemberOrderRow> findMemberOrders(Long memberId, String cursor, int size) {
+        int pageSize = Math.min(Math.max(size, 1), OrderSearch.MAX_SIZE);
+        OrderCursor after = StringUtils.hasText(cursor) ? OrderCursor.decode(cursor) : null;
+        List<MemberOrderRow> rows = orderRepository.findMemberOrderRows(memberId, after, pageSize);
+        return CursorPage.of(rows, pageSize, r -> new OrderCursor(r.getOrderDate(), r.getOrderId()).encode());
     }
 
-    /** 주문 검색 */
-    public List<Order> findOrders(OrderSearch orderSearch) {
-        return orderRepository.findAllByString(orderSearch);
+    /** 주문 목록 화면용 검색 (DTO 조회: 주문 1번 + 주문상품 IN 1번) */
+    @Timed(value = "jpashop.order.search", histogram = true)
+    public CursorPage<OrderListRow> findOrderRows(OrderSearch orderSearch) {
+        List<OrderListRow> rows = orderRepository.findOrderListRows(orderSearch);
+        CursorPage<OrderListRow> page = CursorPage.of(rows, orderSearch.getPageSize(),
+                r -> new OrderCursor(r.getOrderDate(), r.getOrderId()).encode());
+        if (page.getContent().isEmpty()) {
+            return page;
+        }
+
+        List<Long> orderIds = page.getContent().stream()
+                .map(OrderListRow::getOrderId)
+                .toList();
+        Map<Long, List<OrderItemRow>> itemsByOrderId = orderRepository.findOrderItemRows(orderIds).stream()
+                .collect(Collectors.groupingBy(OrderItemRow::getOrderId));
+        page.getContent().forEach(r ->
+                r.setOrderItems(itemsByOrderId.getOrDefault(r.getOrderId(), List.of())));
+        return page;
     }
 }
\ No newline at end of file
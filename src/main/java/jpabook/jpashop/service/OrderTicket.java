@@ -0,0 +1,38 @@
+package jpabook.jpashop.service;
+
+import lombok.Getter;
+
+import java.time.Instant;
+
+/**
+ * 비동기 주문 접수 결과 (클라이언트가 토큰으로 조회)
+ */
+@Getter
+public class OrderTicket {
+
+    public enum Status {
+        PENDING, COMPLETED, FAILED
+    }
+
+    private final String token;
+    private volatile Status status = Status.PENDING;
+    private volatile Long orderId;
+    private volatile String message;
+    private volatile Instant finishedAt;
+
+    public OrderTicket(String token) {
+        this.token = token;
+    }
+
+    void complete(Long orderId) {
+        this.orderId = orderId;
+        this.status = Status.COMPLETED;
+        this.finishedAt = Instant.now();
+    }
+
+    void fail(String message) {
+        this.message = message;
+        this.status = Status.FAILED;
+        this.finishedAt = Instant.now();
+    }
+}
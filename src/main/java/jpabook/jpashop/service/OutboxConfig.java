@@ -0,0 +1,24 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * 아웃박스 발행 대상 - jpashop.outbox.sink 설정으로 선택
+ * 브로커 연동 등 다른 OutboxSink 빈을 쓰려면 그 빈에 @Primary 를 붙인다.
+ * (@ConditionalOnMissingBean 은 컴포넌트 스캔 설정 클래스에서는 빈 등록 순서에 따라 결과가 달라 쓰지 않음)
+ */
+@Configuration
+public class OutboxConfig {
+
+    @Bean
+    public OutboxSink outboxSink(OutboxProperties properties, ObjectMapper objectMapper) {
+        return switch (properties.getSink()) {
+            case FILE -> new FileOutboxSink(Path.of(properties.getFilePath()), objectMapper);
+            case MEMORY -> new InMemoryOutboxSink(properties.getMemoryCapacity());
+        };
+    }
+}
@@ -0,0 +1,17 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.OutboxEvent;
+
+import java.time.LocalDateTime;
+
+/**
+ * 발행용 아웃박스 이벤트 (엔티티와 분리된 값)
+ */
+public record OutboxMessage(Long id, String aggregateType, Long aggregateId, String eventType, String payload,
+                            LocalDateTime createdAt) {
+
+    static OutboxMessage of(OutboxEvent event) {
+        return new OutboxMessage(event.getId(), event.getAggregateType(), event.getAggregateId(),
+                event.getEventType().name(), event.getPayload(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,26 @@
+package jpabook.jpashop.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 아웃박스 발행 설정 (application.yml 의 jpashop.outbox.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jpashop.outbox")
+public class OutboxProperties {
+    private boolean relayEnabled = true; //false 면 이벤트는 쌓이기만 함 (다른 인스턴스가 발행)
+    private int batchSize = 500; //한 트랜잭션에서 발행/삭제할 최대 이벤트 수 (= relay 가 한 번에 메모리에 올리는 양)
+    private Duration pollInterval = Duration.ofMillis(200); //발행할 이벤트가 없을 때 대기 시간
+    private Sink sink = Sink.MEMORY;
+    private String filePath = "build/outbox/events.jsonl"; //sink=file 일 때
+    private int memoryCapacity = 10_000; //sink=memory 일 때 보관할 최근 이벤트 수
+
+    public enum Sink {
+        MEMORY, FILE
+    }
+}
@@ -0,0 +1,150 @@
+package jpabook.jpashop.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.OutboxEvent;
+import jpabook.jpashop.repository.OutboxRepository;
+import jpabook.jpashop.repository.query.OutboxBacklogRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 아웃박스 발행기
+ * 가상 스레드 하나가 이벤트를 batchSize 건씩 잠금 조회 → OutboxSink 로 발행 → 벌크 DELETE 를 한 트랜잭션으로 반복한다.
+ * 묶음이 가득 차면 쉬지 않고 다음 묶음을 처리하고, 비면 pollInterval 만큼 쉰다. (메모리에는 항상 한 묶음만)
+ * 발행 후 삭제 전에 실패하면 다음 주기에 다시 발행된다. (최소 한 번 전달, 소비자는 이벤트 id 로 중복 제거)
+ * 순서는 보장하지 않는다. 같은 주문의 이벤트라도 마찬가지 - id 는 커밋 순서가 아니고, 잠긴 행은 건너뛰며, 실패한 묶음은 나중에 다시 나간다.
+ * 소비자는 도착 순서가 아니라 이벤트 종류로 상태를 정한다. (예: ORDER_CANCELLED 가 ORDER_PLACED 보다 먼저 와도 취소로 처리)
+ */
+@Slf4j
+@Service
+public class OutboxRelay {
+
+    private static final long STOP_TIMEOUT_MILLIS = 10_000;
+
+    private final OutboxRepository outboxRepository;
+    private final OutboxSink sink;
+    private final OutboxProperties properties;
+    private final EntityManager em;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private Thread worker;
+    private volatile boolean running;
+    private volatile OutboxBacklogRow backlog = new OutboxBacklogRow(0, null); //relayLoop 가 묶음마다 갱신
+
+    private final Counter published;
+    private final Timer batchTimer;
+
+    public OutboxRelay(OutboxRepository outboxRepository, OutboxSink sink, OutboxProperties properties,
+                       EntityManager em, PlatformTransactionManager transactionManager, MeterRegistry meterRegistry) {
+        this.outboxRepository = outboxRepository;
+        this.sink = sink;
+        this.properties = properties;
+        this.em = em;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.meterRegistry = meterRegistry;
+
+        this.published = Counter.builder("jpashop.outbox.published")
+                .description("발행한 아웃박스 이벤트 수").register(meterRegistry);
+        this.batchTimer = Timer.builder("jpashop.outbox.batch")
+                .description("아웃박스 묶음 하나 조회 ~ 발행 ~ 삭제 시간").publishPercentileHistogram().register(meterRegistry);
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isRelayEnabled()) {
+            return;
+        }
+        // 게이지는 relayLoop 가 남긴 값만 읽는다 (scrape 마다 DB 를 조회하지 않음)
+        Gauge.builder("jpashop.outbox.backlog", this, r -> r.backlog.getCount())
+                .description("발행 대기 이벤트 수").register(meterRegistry);
+        Gauge.builder("jpashop.outbox.lag", this, OutboxRelay::lagSeconds)
+                .description("가장 오래된 발행 대기 이벤트의 경과 시간").baseUnit("seconds").register(meterRegistry);
+        running = true;
+        worker = Thread.ofVirtual().name("outbox-relay").start(this::relayLoop);
+    }
+
+    /** 처리 중인 묶음은 끝까지 발행/삭제하고 멈춘다 (트랜잭션 도중 인터럽트하지 않음) */
+    @PreDestroy
+    void stop() {
+        running = false;
+        if (worker == null) {
+            return;
+        }
+        try {
+            worker.join(STOP_TIMEOUT_MILLIS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        worker = null;
+    }
+
+    private void relayLoop() {
+        while (running) {
+            try {
+                int relayed = relayOnce();
+                backlog = outboxRepository.findBacklog();
+                if (relayed < properties.getBatchSize()) {
+                    Thread.sleep(properties.getPollInterval().toMillis());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("아웃박스 발행 중 오류", e);
+                try {
+                    Thread.sleep(properties.getPollInterval().toMillis());
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 한 묶음 발행
+     * @return 발행한 이벤트 수
+     */
+    public int relayOnce() {
+        Timer.Sample sample = Timer.start();
+        Integer count = transactionTemplate.execute(status -> {
+            List<OutboxEvent> events = outboxRepository.lockOldest(properties.getBatchSize());
+            if (events.isEmpty()) {
+                return 0;
+            }
+            List<OutboxMessage> messages = events.stream().map(OutboxMessage::of).toList();
+            List<Long> ids = messages.stream().map(OutboxMessage::id).toList();
+            em.clear(); //엔티티는 더 필요 없음 (벌크 DELETE 와 영속성 컨텍스트가 어긋나지 않도록)
+            try {
+                sink.publish(messages);
+            } catch (Exception e) {
+                throw new IllegalStateException("아웃박스 이벤트 발행 실패", e);
+            }
+            outboxRepository.deleteAll(ids);
+            return messages.size();
+        });
+        int relayed = count == null ? 0 : count;
+        if (relayed > 0) {
+            published.increment(relayed);
+            sample.stop(batchTimer);
+        }
+        return relayed;
+    }
+
+    private double lagSeconds() {
+        LocalDateTime oldest = backlog.getOldestCreatedAt();
+        return oldest == null ? 0 : Duration.between(oldest, LocalDateTime.now()).toMillis() / 1000.0;
+    }
+}
@@ -0,0 +1,60 @@
+package jpabook.jpashop.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OutboxEvent;
+import jpabook.jpashop.domain.OutboxEventType;
+import jpabook.jpashop.repository.OutboxRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 주문 이벤트를 아웃박스에 기록 - 반드시 주문을 바꾸는 트랜잭션 안에서 호출 (같이 커밋/롤백)
+ */
+@Service
+@Transactional(propagation = Propagation.MANDATORY)
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private static final String ORDER = "Order";
+
+    private final OutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    public void orderPlaced(Order order) {
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("orderId", order.getId());
+        payload.put("memberId", order.getMember().getId());
+        payload.put("totalPrice", order.getTotalPrice());
+        payload.put("itemCount", order.getItemCount());
+        payload.put("orderDate", order.getOrderDate());
+        outboxRepository.save(OutboxEvent.create(ORDER, order.getId(), OutboxEventType.ORDER_PLACED, toJson(payload)));
+    }
+
+    public void orderCancelled(Long orderId) {
+        outboxRepository.save(OutboxEvent.create(ORDER, orderId, OutboxEventType.ORDER_CANCELLED,
+                toJson(Map.of("orderId", orderId))));
+    }
+
+    /** 일괄 취소용 - insert 는 JDBC 배치로 묶인다 */
+    public void ordersCancelled(List<Long> orderIds) {
+        for (Long orderId : orderIds) {
+            orderCancelled(orderId);
+        }
+    }
+
+    private String toJson(Map<String, Object> payload) {
+        try {
+            return objectMapper.writeValueAsString(payload);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("아웃박스 이벤트 변환 실패", e);
+        }
+    }
+}
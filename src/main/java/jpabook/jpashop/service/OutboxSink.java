@@ -0,0 +1,12 @@
+package jpabook.jpashop.service;
+
+import java.util.List;
+
+/**
+ * 아웃박스 이벤트 발행 대상 (메시지 브로커 등)
+ * 예외 없이 반환하면 발행된 것으로 보고 이벤트를 지운다. (실패하면 다음 주기에 다시 발행 - 최소 한 번 전달)
+ * 묶음 안팎의 순서는 보장되지 않는다 (OutboxRelay 참고).
+ */
+public interface OutboxSink {
+    void publish(List<OutboxMessage> messages) throws Exception;
+}
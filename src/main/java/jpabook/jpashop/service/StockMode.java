@@ -0,0 +1,10 @@
+package jpabook.jpashop.service;
+
+/**
+ * 주문 시 재고 차감 방식
+ */
+public enum StockMode {
+    OPTIMISTIC,         // Item 을 읽어서 차감 후 @Version 으로 충돌 감지 (충돌 시 OrderFacade 가 재시도)
+    CONDITIONAL_UPDATE, // update ... where stock_quantity >= :count 한 번으로 원자적 차감
+    COALESCED           // 같은 상품의 동시 차감 요청을 잠깐 모아 UPDATE 한 번, 커밋 한 번으로 처리 (StockReservationCoordinator)
+}
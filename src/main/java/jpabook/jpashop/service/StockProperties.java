@@ -0,0 +1,20 @@
+package jpabook.jpashop.service;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * 재고 차감 설정 (application.yml 의 jpashop.stock.*)
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "jpashop.stock")
+public class StockProperties {
+    private StockMode mode = StockMode.CONDITIONAL_UPDATE;
+    private int maxRetries = 5; //낙관적 락 충돌 시 최대 재시도 횟수
+    private long retryBackoffMillis = 5; //재시도 간격 기준값 (시도 횟수만큼 늘어남)
+    private Duration coalesceWindow = Duration.ofMillis(2); //COALESCED: 같은 상품 요청을 모으는 시간
+}
@@ -0,0 +1,181 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.exception.NotEnoughStockException;
+import jpabook.jpashop.repository.ItemRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 재고 차감 그룹 커밋
+ * 같은 상품에 대한 동시 차감 요청을 coalesceWindow 동안 모아서, 먼저 온 요청(리더)이
+ * 별도 트랜잭션에서 UPDATE 한 번 + 커밋 한 번으로 처리하고 결과를 기다리던 요청들에 돌려준다.
+ * - 합계만큼 재고가 있으면 조건부 UPDATE 한 번으로 전부 성공
+ * - 모자라면 행을 잠그고 도착 순서대로 가능한 만큼만 배정, 나머지는 NotEnoughStockException
+ * 차감은 주문 트랜잭션과 따로 커밋되므로, 주문이 롤백되면 호출한 쪽이 release 로 되돌려야 한다.
+ * 대기하는 동안 커넥션을 잡고 있으면 안 되므로 트랜잭션 밖에서만 호출한다. (OrderFacade)
+ */
+@Slf4j
+@Component
+public class StockReservationCoordinator {
+
+    private final ItemRepository itemRepository;
+    private final StockProperties stockProperties;
+    private final TransactionTemplate requiresNew;
+
+    private static final int RELEASE_ATTEMPTS = 3;
+    private static final long RELEASE_BACKOFF_MILLIS = 50;
+
+    private final ConcurrentHashMap<Long, Batch> openBatches = new ConcurrentHashMap<>();
+
+    public StockReservationCoordinator(ItemRepository itemRepository, StockProperties stockProperties,
+                                       PlatformTransactionManager transactionManager) {
+        this.itemRepository = itemRepository;
+        this.stockProperties = stockProperties;
+        this.requiresNew = new TransactionTemplate(transactionManager);
+        this.requiresNew.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    private static class Batch {
+        private final List<Reservation> reservations = new ArrayList<>();
+    }
+
+    private record Reservation(int count, CompletableFuture<Void> result) {
+    }
+
+    /**
+     * 재고 차감 (차감이 커밋될 때까지 대기)
+     * @throws NotEnoughStockException 재고 부족
+     * @throws IllegalArgumentException 없는 상품 (묶음 전체가 같은 예외로 끝남)
+     * @throws IllegalStateException 트랜잭션 안에서 호출한 경우
+     */
+    public void reserve(Long itemId, int count) {
+        if (TransactionSynchronizationManager.isActualTransactionActive()) {
+            throw new IllegalStateException("재고 묶음 차감은 트랜잭션 밖에서 호출해야 합니다.");
+        }
+        Reservation reservation = new Reservation(count, new CompletableFuture<>());
+        boolean[] leader = new boolean[1];
+        // compute 는 키 단위로 원자적 → 열린 묶음에 추가하거나, 없으면 새 묶음을 열고 리더가 됨
+        Batch batch = openBatches.compute(itemId, (id, open) -> {
+            Batch target = open != null ? open : new Batch();
+            leader[0] = open == null;
+            target.reservations.add(reservation);
+            return target;
+        });
+
+        if (leader[0]) {
+            boolean interrupted = sleepWindow();
+            openBatches.remove(itemId, batch); //이후 도착한 요청은 새 묶음으로
+            flush(itemId, batch.reservations);
+            if (interrupted) {
+                Thread.currentThread().interrupt(); //flush 가 끝난 뒤에 인터럽트 상태 복원
+            }
+        }
+
+        try {
+            reservation.result().join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("재고 묶음 차감 실패", cause);
+        }
+    }
+
+    /**
+     * 차감 취소 (주문 롤백 보상)
+     * 호출한 쪽의 원래 예외를 가리지 않도록 예외를 던지지 않는다.
+     * 몇 번 재시도해도 실패하면 수동 보정할 수 있게 상품 id 와 수량을 error 로그로 남긴다.
+     * @return 되돌렸으면 true
+     */
+    public boolean release(Long itemId, int count) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                requiresNew.executeWithoutResult(status -> itemRepository.increaseStock(itemId, count));
+                return true;
+            } catch (RuntimeException e) {
+                if (attempt >= RELEASE_ATTEMPTS) {
+                    log.error("재고 복구 실패 - 수동 보정 필요 itemId={} count={}", itemId, count, e);
+                    return false;
+                }
+                log.warn("재고 복구 재시도 itemId={} count={} attempt={}", itemId, count, attempt, e);
+                try {
+                    Thread.sleep(RELEASE_BACKOFF_MILLIS * attempt);
+                } catch (InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                    log.error("재고 복구 중단 - 수동 보정 필요 itemId={} count={}", itemId, count, e);
+                    return false;
+                }
+            }
+        }
+    }
+
+    private void flush(Long itemId, List<Reservation> reservations) {
+        List<Reservation> granted;
+        try {
+            granted = requiresNew.execute(status -> allocate(itemId, reservations));
+        } catch (RuntimeException e) {
+            reservations.forEach(r -> r.result().completeExceptionally(e));
+            return;
+        }
+        // 커밋 후에 결과 전달
+        for (Reservation reservation : reservations) {
+            if (granted.contains(reservation)) {
+                reservation.result().complete(null);
+            } else {
+                reservation.result().completeExceptionally(new NotEnoughStockException("need more stock"));
+            }
+        }
+    }
+
+    private List<Reservation> allocate(Long itemId, List<Reservation> reservations) {
+        int total = reservations.stream().mapToInt(Reservation::count).sum();
+        if (itemRepository.decreaseStock(itemId, total) > 0) {
+            return reservations;
+        }
+
+        // 합계만큼은 없음 (또는 없는 상품) → 잠그고 도착 순서대로 배정
+        int stock = itemRepository.findStockForUpdate(itemId)
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다. id=" + itemId));
+        List<Reservation> granted = new ArrayList<>();
+        int grantedTotal = 0;
+        for (Reservation reservation : reservations) {
+            if (grantedTotal + reservation.count() <= stock) {
+                granted.add(reservation);
+                grantedTotal += reservation.count();
+            }
+        }
+        if (grantedTotal > 0) {
+            itemRepository.decreaseStock(itemId, grantedTotal);
+        }
+        return granted;
+    }
+
+    /**
+     * 묶음을 모으는 동안 대기
+     * 인터럽트 상태로 flush 의 JDBC 트랜잭션을 열면 커넥션이 닫혀 묶음 전체가 실패할 수 있으므로
+     * 여기서는 상태를 복원하지 않고 알려만 준다.
+     * @return 대기 중 인터럽트됐으면 true
+     */
+    private boolean sleepWindow() {
+        try {
+            Thread.sleep(stockProperties.getCoalesceWindow());
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package jpabook.jpashop.controller;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.repository.InvalidCursorException;
+import jpabook.jpashop.repository.OrderCursor;
+import jpabook.jpashop.repository.query.MemberOrderRow;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.support.Fixtures;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 키셋 페이징: 주문일시가 같은 주문도 빠짐/중복 없이 넘기기, 잘못된 커서는 400, 회원 주문 내역은 Member.orders 를 읽지 않음
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class CursorPagingTest {
+
+    private static final List<String> MALFORMED = List.of(
+            "not-a-cursor!",
+            encode("2024-01-01T10:00"), //구분자 없음
+            encode("yesterday_1"),
+            encode("2024-01-01T10:00_abc"));
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+    @Autowired EntityManager em;
+
+    @Test
+    void 커서_인코딩_디코딩() {
+        OrderCursor cursor = new OrderCursor(LocalDateTime.of(2024, 1, 1, 10, 0, 0, 123_000), 42L);
+
+        OrderCursor decoded = OrderCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getOrderDate(), decoded.getOrderDate());
+        assertEquals(42L, decoded.getOrderId());
+        for (String token : MALFORMED) {
+            assertThrows(InvalidCursorException.class, () -> OrderCursor.decode(token), token);
+        }
+    }
+
+    @Test
+    void 주문_목록_잘못된_커서는_400() throws Exception {
+        for (String token : MALFORMED) {
+            mockMvc.perform(get("/orders").param("cursor", token))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void 회원_주문_내역_잘못된_커서는_400() throws Exception {
+        Long memberId = Fixtures.joinMember(memberService, Fixtures.uniqueName("cursor"));
+
+        for (String token : MALFORMED) {
+            mockMvc.perform(get("/members/{memberId}/orders", memberId).param("cursor", token))
+                    .andExpect(status().isBadRequest());
+        }
+    }
+
+    @Test
+    void 회원_주문_내역은_주문일시가_같아도_빠짐없이_다음_페이지로() throws Exception {
+        // Given - 앞의 4건은 주문일시가 같고, 마지막 주문만 하루 전
+        Long memberId = Fixtures.joinMember(memberService, Fixtures.uniqueName("cursor"));
+        Long itemId = Fixtures.saveBook(itemService, "cursor book", 10000, 100);
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            orderIds.add(orderService.order(memberId, itemId, 1));
+        }
+        LocalDateTime sameDate = LocalDateTime.of(2024, 1, 1, 10, 0);
+        for (int i = 0; i < 4; i++) {
+            em.find(Order.class, orderIds.get(i)).setOrderDate(sameDate);
+        }
+        em.find(Order.class, orderIds.get(4)).setOrderDate(sameDate.minusDays(1));
+        em.flush();
+        em.clear();
+
+        // When - 2건씩 다음 커서를 따라감
+        List<List<Long>> pages = new ArrayList<>();
+        String cursor = null;
+        do {
+            MockHttpServletRequestBuilder request = get("/members/{memberId}/orders", memberId).param("size", "2");
+            if (cursor != null) {
+                request.param("cursor", cursor);
+            }
+            Map<String, Object> model = mockMvc.perform(request).andExpect(status().isOk())
+                    .andReturn().getModelAndView().getModel();
+            @SuppressWarnings("unchecked")
+            List<MemberOrderRow> rows = (List<MemberOrderRow>) model.get("orders");
+            pages.add(rows.stream().map(MemberOrderRow::getOrderId).toList());
+            cursor = (String) model.get("nextCursor");
+        } while (cursor != null);
+
+        // Then - (주문일시 desc, id desc)
+        assertEquals(List.of(
+                List.of(orderIds.get(3), orderIds.get(2)),
+                List.of(orderIds.get(1), orderIds.get(0)),
+                List.of(orderIds.get(4))), pages);
+    }
+
+    @Test
+    void 회원_주문_내역은_회원의_주문_컬렉션을_초기화하지_않음() throws Exception {
+        // Given
+        Long memberId = Fixtures.joinMember(memberService, Fixtures.uniqueName("cursor"));
+        Long itemId = Fixtures.saveBook(itemService, "cursor book", 10000, 100);
+        orderService.order(memberId, itemId, 1);
+        em.flush();
+        em.clear();
+
+        // When
+        MvcResult result = mockMvc.perform(get("/members/{memberId}/orders", memberId))
+                .andExpect(status().isOk())
+                .andReturn();
+
+        // Then
+        Member member = (Member) result.getModelAndView().getModel().get("member");
+        assertFalse(Hibernate.isInitialized(member.getOrders()));
+        assertEquals(1, ((List<?>) result.getModelAndView().getModel().get("orders")).size());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
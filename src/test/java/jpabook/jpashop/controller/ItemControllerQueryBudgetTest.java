@@ -0,0 +1,87 @@
+package jpabook.jpashop.controller;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.support.QueryBudget;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * ItemController 요청별 SQL 수 상한 (상품 100건 기준)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class ItemControllerQueryBudgetTest {
+
+    private static final int ITEMS = 100;
+
+    @Autowired MockMvc mockMvc;
+    @Autowired ItemService itemService;
+    @Autowired EntityManager em;
+
+    private Long itemId;
+
+    @BeforeEach
+    void setUp() {
+        for (int i = 0; i < ITEMS; i++) {
+            Book book = new Book();
+            book.setName("budget book" + i);
+            book.setPrice(10000);
+            book.setStockQuantity(10);
+            itemService.saveItem(book);
+            itemId = book.getId();
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void 상품_목록() throws Exception {
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/items")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void 상품_수정_폼() throws Exception {
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/items/{itemId}/edit", itemId))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void 상품_등록() throws Exception {
+        // 시퀀스 + insert
+        QueryBudget.assertAtMost(2, () -> {
+            mockMvc.perform(post("/items/new")
+                            .param("name", "new book")
+                            .param("price", "20000")
+                            .param("stockQuantity", "5")
+                            .param("author", "kim")
+                            .param("isbn", "1234"))
+                    .andExpect(status().is3xxRedirection());
+            em.flush();
+        });
+    }
+
+    @Test
+    void 상품_수정() throws Exception {
+        // 조회 + UPDATE
+        QueryBudget.assertAtMost(2, () -> {
+            mockMvc.perform(post("/items/{itemId}/edit", itemId)
+                            .param("name", "edited")
+                            .param("price", "30000")
+                            .param("stockQuantity", "7"))
+                    .andExpect(status().is3xxRedirection());
+            em.flush();
+        });
+    }
+}
@@ -0,0 +1,63 @@
+package jpabook.jpashop.controller;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.support.QueryBudget;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.UUID;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * MemberController 요청별 SQL 수 상한 (회원 200명 기준)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class MemberControllerQueryBudgetTest {
+
+    private static final int MEMBERS = 200;
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberService memberService;
+    @Autowired EntityManager em;
+
+    @BeforeEach
+    void setUp() {
+        String prefix = "budget-" + UUID.randomUUID() + "-";
+        for (int i = 0; i < MEMBERS; i++) {
+            Fixtures.joinMember(memberService, prefix + i);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void 회원_목록() throws Exception {
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/members")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void 회원_가입() throws Exception {
+        // 중복 이름 확인 + 시퀀스 + insert
+        QueryBudget.assertAtMost(3, () -> {
+            mockMvc.perform(post("/members/new")
+                            .param("name", "budget-" + UUID.randomUUID())
+                            .param("city", "서울")
+                            .param("street", "강가")
+                            .param("zipcode", "123-123"))
+                    .andExpect(status().is3xxRedirection());
+            em.flush();
+        });
+    }
+}
@@ -0,0 +1,106 @@
+package jpabook.jpashop.controller;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.support.QueryBudget;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * OrderController 요청별 SQL 수 상한 (주문 500건 기준)
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class OrderControllerQueryBudgetTest {
+
+    private static final int ORDERS = 500;
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+    @Autowired EntityManager em;
+
+    private String memberName;
+    private Long memberId;
+    private Long itemId;
+    private Long orderId;
+
+    @BeforeEach
+    void setUp() {
+        memberName = Fixtures.uniqueName("budget");
+        memberId = Fixtures.joinMember(memberService, memberName);
+        itemId = Fixtures.saveBook(itemService, "budget book", 10000, ORDERS * 2);
+
+        for (int i = 0; i < ORDERS; i++) {
+            orderId = orderService.order(memberId, itemId, 1);
+        }
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void 주문_목록() throws Exception {
+        // 주문 1번 + 주문상품 IN 1번
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/orders")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void 주문_검색() throws Exception {
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/orders")
+                        .param("memberName", memberName)
+                        .param("orderStatus", "ORDER"))
+                .andExpect(status().isOk()));
+    }
+
+    @Test
+    void 주문_폼() throws Exception {
+        // 회원 목록 + 상품 목록
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/order")).andExpect(status().isOk()));
+        QueryBudget.assertAtMost(2, () -> mockMvc.perform(get("/order/cart")).andExpect(status().isOk()));
+    }
+
+    @Test
+    void 주문() throws Exception {
+        // 상품 id 확인, 재고 UPDATE, 회원, 회원 주문목록(연관관계 메서드), 상품,
+        // 시퀀스 최대 4, insert 4 (orders, delivery, order_item, outbox_event)
+        QueryBudget.assertAtMost(13, () -> {
+            mockMvc.perform(post("/order")
+                            .param("memberId", memberId.toString())
+                            .param("itemId", itemId.toString())
+                            .param("count", "1"))
+                    .andExpect(status().is3xxRedirection());
+            em.flush();
+        });
+    }
+
+    @Test
+    void 주문_취소() throws Exception {
+        // 주문, 배송, 주문상품, 상품 조회 + 주문/상품 UPDATE + 아웃박스 시퀀스/insert
+        QueryBudget.assertAtMost(8, () -> {
+            mockMvc.perform(post("/orders/{orderId}/cancel", orderId))
+                    .andExpect(status().is3xxRedirection());
+            em.flush();
+        });
+    }
+
+    @Test
+    void 주문_내보내기() throws Exception {
+        QueryBudget.assertAtMost(1, () -> mockMvc.perform(get("/orders/export").param("format", "csv"))
+                .andExpect(status().isOk()));
+    }
+}
@@ -0,0 +1,98 @@
+package jpabook.jpashop.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 주문 내보내기 형식: CSV 따옴표 처리, JSON 배열, 주문 id 순 출력
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class OrderExportControllerTest {
+
+    private static final String COMMA_NAME = "쉼표, 책";
+    private static final String QUOTE_CRLF_NAME = "따옴표 \"책\"\r\n줄바꿈";
+
+    @Autowired MockMvc mockMvc;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired OrderService orderService;
+    @Autowired ObjectMapper objectMapper;
+    @Autowired EntityManager em;
+
+    private String memberName;
+    private Long firstOrderId;
+    private Long secondOrderId;
+
+    @BeforeEach
+    void setUp() {
+        memberName = Fixtures.uniqueName("export");
+        Long memberId = Fixtures.joinMember(memberService, memberName);
+
+        // 먼저 생긴 주문이 더 오래된 주문일시 → 주문일시 내림차순이면 뒤에 나옴
+        firstOrderId = orderService.order(memberId, Fixtures.saveBook(itemService, COMMA_NAME, 10000, 10), 1);
+        secondOrderId = orderService.order(memberId, Fixtures.saveBook(itemService, QUOTE_CRLF_NAME, 10000, 10), 2);
+        em.find(Order.class, firstOrderId).setOrderDate(LocalDateTime.of(2020, 1, 1, 10, 0));
+        em.find(Order.class, secondOrderId).setOrderDate(LocalDateTime.of(2020, 1, 2, 10, 0));
+        em.flush();
+        em.clear();
+    }
+
+    @Test
+    void CSV_내보내기() throws Exception {
+        // When
+        String csv = mockMvc.perform(get("/orders/export")
+                        .param("format", "csv")
+                        .param("memberName", memberName))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        // Then - 쉼표/따옴표/\r\n 이 있는 값은 따옴표로 감싸고 따옴표는 두 번
+        assertEquals("orderId,orderDate,status,memberName,itemName,orderPrice,count\n"
+                + firstOrderId + ",2020-01-01T10:00,ORDER," + memberName + ",\"쉼표, 책\",10000,1\n"
+                + secondOrderId + ",2020-01-02T10:00,ORDER," + memberName + ",\"따옴표 \"\"책\"\"\r\n줄바꿈\",10000,2\n",
+                csv);
+    }
+
+    @Test
+    void JSON_내보내기() throws Exception {
+        // When
+        String json = mockMvc.perform(get("/orders/export")
+                        .param("format", "json")
+                        .param("memberName", memberName))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        List<Map<String, Object>> rows = objectMapper.readValue(json, new TypeReference<>() {});
+
+        // Then
+        assertEquals(2, rows.size());
+        assertEquals(firstOrderId, ((Number) rows.get(0).get("orderId")).longValue());
+        assertEquals(COMMA_NAME, rows.get(0).get("itemName"));
+        assertEquals(secondOrderId, ((Number) rows.get(1).get("orderId")).longValue());
+        assertEquals(QUOTE_CRLF_NAME, rows.get(1).get("itemName"));
+        assertEquals(2, rows.get(1).get("count"));
+    }
+}
@@ -0,0 +1,126 @@
+package jpabook.jpashop.datasource;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
+import org.springframework.orm.jpa.SharedEntityManagerCreator;
+import org.springframework.orm.jpa.vendor.HibernateJpaVendorAdapter;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * H2 메모리 DB 두 개(primary, replica)로 readOnly 트랜잭션 분기와 replica 장애 시 primary 사용 확인
+ * 각 DB 의 node 테이블에 자기 이름을 넣어두고 어느 DB 에서 읽었는지 본다.
+ * 애플리케이션과 같은 경로(JpaTransactionManager + EntityManager)로도 확인한다.
+ */
+class ReadWriteRoutingDataSourceTest {
+
+    private ReadWriteRoutingDataSource routing;
+    private EntityManagerFactory emf;
+
+    @AfterEach
+    void close() throws Exception {
+        if (emf != null) {
+            emf.close();
+        }
+        routing.close();
+    }
+
+    @Test
+    void readOnly_트랜잭션은_replica_쓰기는_primary() {
+        // Given
+        DataSource primary = node("primary");
+        routing = new ReadWriteRoutingDataSource(primary,
+                replicas(primary, List.of(new ReplicaDataSource.Replica("replica", node("replica")))));
+
+        // When / Then
+        assertEquals("replica", readNodeName(true));
+        assertEquals("primary", readNodeName(false));
+    }
+
+    @Test
+    void replica_가_죽으면_primary_로_읽기() {
+        // Given
+        DriverManagerDataSource down = new DriverManagerDataSource("jdbc:h2:tcp://localhost:1/nowhere", "sa", "");
+        ReplicaDataSource.Replica replica = new ReplicaDataSource.Replica("down", down);
+        DataSource primary = node("primary");
+        routing = new ReadWriteRoutingDataSource(primary, replicas(primary, List.of(replica)));
+
+        // When
+        String name = readNodeName(true);
+
+        // Then
+        assertEquals("primary", name);
+        assertFalse(replica.isHealthy());
+    }
+
+    @Test
+    void JPA_트랜잭션도_readOnly_는_replica_이어지는_쓰기는_primary() {
+        // Given
+        DataSource primary = node("primary");
+        routing = new ReadWriteRoutingDataSource(primary,
+                replicas(primary, List.of(new ReplicaDataSource.Replica("replica", node("replica")))));
+        emf = entityManagerFactory(routing);
+
+        // When / Then - 같은 스레드에서 readOnly 조회 후 쓰기 트랜잭션 (OSIV 없이 트랜잭션마다 EntityManager 새로 생성)
+        assertEquals("replica", readNodeNameWithJpa(true));
+        assertEquals("primary", readNodeNameWithJpa(false));
+        assertEquals("replica", readNodeNameWithJpa(true));
+    }
+
+    @Test
+    void OSIV_가_켜져_있으면_시작하지_않음() {
+        assertThrows(IllegalStateException.class, () -> new RoutingDataSourceConfig(true));
+        assertDoesNotThrow(() -> new RoutingDataSourceConfig(false));
+    }
+
+    private String readNodeNameWithJpa(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new JpaTransactionManager(emf));
+        tx.setReadOnly(readOnly);
+        EntityManager em = SharedEntityManagerCreator.createSharedEntityManager(emf);
+        return tx.execute(status -> (String) em.createNativeQuery("select name from node").getSingleResult());
+    }
+
+    /** 엔티티 없이 네이티브 쿼리만 쓰는 EntityManagerFactory (스프링 부트와 같은 HibernateJpaVendorAdapter) */
+    private static EntityManagerFactory entityManagerFactory(DataSource dataSource) {
+        LocalContainerEntityManagerFactoryBean factory = new LocalContainerEntityManagerFactoryBean();
+        factory.setDataSource(dataSource);
+        factory.setJpaVendorAdapter(new HibernateJpaVendorAdapter());
+        factory.setPackagesToScan("jpabook.jpashop.datasource");
+        factory.setJpaPropertyMap(Map.of("hibernate.hbm2ddl.auto", "none"));
+        factory.afterPropertiesSet();
+        return factory.getObject();
+    }
+
+    private static ReplicaDataSource replicas(DataSource primary, List<ReplicaDataSource.Replica> replicas) {
+        return new ReplicaDataSource(primary, replicas, null, Duration.ofSeconds(5), Duration.ofMinutes(1));
+    }
+
+    private String readNodeName(boolean readOnly) {
+        TransactionTemplate tx = new TransactionTemplate(new DataSourceTransactionManager(routing));
+        tx.setReadOnly(readOnly);
+        return tx.execute(status -> new JdbcTemplate(routing).queryForObject("select name from node", String.class));
+    }
+
+    private static DataSource node(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource(
+                "jdbc:h2:mem:" + name + "-" + UUID.randomUUID() + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("create table node (name varchar(20))");
+        jdbc.update("insert into node values (?)", name);
+        return dataSource;
+    }
+}
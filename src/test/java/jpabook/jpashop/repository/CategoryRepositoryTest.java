@@ -0,0 +1,120 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.Category;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 카테고리 경로(materialized path): 하위 트리 조회, 하위 트리 상품, 이동
+ * root ─ a ─ a1
+ *      │   └ a2
+ *      └ b
+ */
+@SpringBootTest
+@Transactional
+class CategoryRepositoryTest {
+
+    @Autowired CategoryRepository categoryRepository;
+    @Autowired EntityManager em;
+
+    private Category root;
+    private Category a;
+    private Category a1;
+    private Category a2;
+    private Category b;
+
+    @BeforeEach
+    void setUp() {
+        root = save("root", null);
+        a = save("a", root);
+        a1 = save("a1", a);
+        a2 = save("a2", a);
+        b = save("b", root);
+        em.flush();
+    }
+
+    @Test
+    void 하위_트리_조회() {
+        assertEquals(List.of(a, a1, a2), categoryRepository.findSubtree(a.getId()));
+        assertEquals(List.of(b), categoryRepository.findSubtree(b.getId()));
+        assertEquals(List.of(root, a, b, a1, a2), categoryRepository.findSubtree(root.getId()));
+        assertTrue(categoryRepository.findSubtree(-1L).isEmpty());
+    }
+
+    @Test
+    void 하위_트리_상품은_중복_없이() {
+        // Given
+        Book shared = book("shared");
+        Book onlyB = book("onlyB");
+        a.getItems().add(shared);
+        a2.getItems().add(shared);
+        b.getItems().add(onlyB);
+        em.flush();
+        em.clear();
+
+        // When
+        List<Item> items = categoryRepository.findItemsInSubtree(a.getId());
+
+        // Then
+        assertEquals(List.of(shared.getId()), items.stream().map(Item::getId).toList());
+    }
+
+    @Test
+    void 이동하면_하위_트리_경로와_깊이가_바뀌고_다른_엔티티는_영속_상태_유지() {
+        // Given
+        Book unrelated = book("unrelated");
+
+        // When - a 를 b 아래로
+        categoryRepository.move(a, b);
+
+        // Then - 영속성 컨텍스트에 있던 하위 카테고리도 새 경로
+        assertTrue(em.contains(a1));
+        assertTrue(em.contains(unrelated));
+        assertEquals(b.getSubtreePathPrefix(), a.getPath());
+        assertEquals(2, a.getDepth());
+        assertEquals(a.getSubtreePathPrefix(), a1.getPath());
+        assertEquals(3, a1.getDepth());
+        assertEquals(List.of(b, a, a1, a2), categoryRepository.findSubtree(b.getId()));
+
+        // 이동 뒤 변경도 반영됨
+        unrelated.setName("changed");
+        em.flush();
+        em.clear();
+        assertEquals("changed", em.find(Item.class, unrelated.getId()).getName());
+        Category reloaded = em.find(Category.class, a2.getId());
+        assertEquals("/" + root.getId() + "/" + b.getId() + "/" + a.getId() + "/", reloaded.getPath());
+        assertEquals(3, reloaded.getDepth());
+    }
+
+    @Test
+    void 자신의_하위로는_이동_불가() {
+        assertThrows(IllegalArgumentException.class, () -> categoryRepository.move(a, a1));
+    }
+
+    private Category save(String name, Category parent) {
+        Category category = new Category();
+        category.setName(name);
+        if (parent != null) {
+            parent.addChildCategory(category);
+        }
+        categoryRepository.save(category);
+        return category;
+    }
+
+    private Book book(String name) {
+        Book book = new Book();
+        book.setName(name);
+        em.persist(book);
+        return book;
+    }
+}
@@ -0,0 +1,91 @@
+package jpabook.jpashop.repository;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.support.MemberDataGenerator;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 회원 이름 조회 성능 측정 (./gradlew benchmarkTest)
+ * - 중복 검사: 엔티티 목록 조회(findByName) vs 존재 여부(existsByName)
+ * - 이름 검색: 앞부분 일치(인덱스 범위 검색) vs 포함 검색(전체 스캔)
+ * 생성한 데이터는 커밋되므로 조회는 prefix 로 이번 실행분만 대상으로 한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class MemberNameLookupBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(MemberNameLookupBenchmarkTest.class);
+
+    private static final int MEMBERS = 200_000;
+    private static final int ITERATIONS = 2_000;
+
+    @Autowired MemberRepository memberRepository;
+    @Autowired EntityManager em;
+    @Autowired JdbcTemplate jdbcTemplate;
+
+    private String prefix;
+
+    @BeforeAll
+    void generate() {
+        prefix = "gen" + UUID.randomUUID().toString().substring(0, 8) + "-";
+        new MemberDataGenerator(jdbcTemplate).generate(prefix, MEMBERS);
+    }
+
+    @Test
+    void 중복_검사() {
+        String name = MemberDataGenerator.name(prefix, MEMBERS / 2);
+
+        measure("findByName", () -> memberRepository.findByName(name).size());
+        measure("existsByName", () -> memberRepository.existsByName(name) ? 1 : 0);
+
+        assertTrue(memberRepository.existsByName(name));
+        assertFalse(memberRepository.existsByName(name + "-none"));
+    }
+
+    @Test
+    void 이름_검색() {
+        // gen...-00012 로 시작하는 회원 1000명
+        String keyword = MemberDataGenerator.name(prefix, 12_000).substring(0, prefix.length() + 5);
+
+        int prefixCount = measure("like 'x%'", () -> countByName(keyword + "%"));
+        int containsCount = measure("like '%x%'", () -> countByName("%" + keyword + "%"));
+
+        assertEquals(1000, prefixCount);
+        assertEquals(prefixCount, containsCount);
+    }
+
+    private int countByName(String pattern) {
+        return em.createQuery("select count(m) from Member m where m.name like :name", Long.class)
+                .setParameter("name", pattern)
+                .getSingleResult()
+                .intValue();
+    }
+
+    private int measure(String label, IntSupplier lookup) {
+        int result = 0;
+        for (int i = 0; i < ITERATIONS / 10; i++) { //워밍업
+            result = lookup.getAsInt();
+        }
+        long begin = System.nanoTime();
+        for (int i = 0; i < ITERATIONS; i++) {
+            result = lookup.getAsInt();
+        }
+        double micros = (System.nanoTime() - begin) / 1_000.0 / ITERATIONS;
+        log.info("{} members={} {} us/op", label, MEMBERS, String.format("%.1f", micros));
+        return result;
+    }
+}
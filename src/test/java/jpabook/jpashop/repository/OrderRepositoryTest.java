@@ -0,0 +1,75 @@
+package jpabook.jpashop.repository;
+
+import jpabook.jpashop.domain.MemberNameMatch;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderSearch;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+import jpabook.jpashop.service.OrderService;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 주문 검색의 회원 이름 조건 (JPQL, Criteria 공통)
+ */
+@SpringBootTest
+@Transactional
+class OrderRepositoryTest {
+
+    @Autowired OrderRepository orderRepository;
+    @Autowired OrderService orderService;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+
+    private String prefix;
+    private Long wildcardOrderId;
+    private Long plainOrderId;
+
+    @BeforeEach
+    void setUp() {
+        prefix = UUID.randomUUID() + "-";
+        Long bookId = Fixtures.saveBook(itemService, "search book", 1000, 10);
+
+        wildcardOrderId = orderService.order(Fixtures.joinMember(memberService, prefix + "50%_off!"), bookId, 1);
+        plainOrderId = orderService.order(Fixtures.joinMember(memberService, prefix + "50xyoff"), bookId, 1);
+    }
+
+    @Test
+    void 기본은_이름_포함_검색() {
+        OrderSearch orderSearch = new OrderSearch();
+        orderSearch.setMemberName(prefix.substring(1));
+
+        assertEquals(MemberNameMatch.CONTAINS, orderSearch.getMemberNameMatch());
+        assertEquals(List.of(plainOrderId, wildcardOrderId), ids(orderRepository.findAllByString(orderSearch)));
+        assertEquals(List.of(plainOrderId, wildcardOrderId), ids(orderRepository.findAllByCriteria(orderSearch)));
+    }
+
+    @Test
+    void 와일드카드는_글자로_검색() {
+        // %, _, 이스케이프 문자 자체도 입력한 글자 그대로
+        OrderSearch contains = new OrderSearch();
+        contains.setMemberName("50%_off!");
+
+        OrderSearch startsWith = new OrderSearch();
+        startsWith.setMemberName(prefix + "50%");
+        startsWith.setMemberNameMatch(MemberNameMatch.PREFIX);
+
+        for (OrderSearch orderSearch : List.of(contains, startsWith)) {
+            assertEquals(List.of(wildcardOrderId), ids(orderRepository.findAllByString(orderSearch)));
+            assertEquals(List.of(wildcardOrderId), ids(orderRepository.findAllByCriteria(orderSearch)));
+        }
+    }
+
+    private static List<Long> ids(List<Order> orders) {
+        return orders.stream().map(Order::getId).toList();
+    }
+}
@@ -0,0 +1,78 @@
+package jpabook.jpashop.search;
+
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Movie;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CatalogIndexTest {
+
+    private final CatalogIndex index = new CatalogIndex();
+
+    @Test
+    void 앞부분_일치_AND_검색() {
+        // Given
+        index.index(book(1L, "JPA 프로그래밍", "김영한", "978-89-1"));
+        index.index(book(2L, "JPA 활용", "김영한", "978-89-2"));
+        index.index(movie(3L, "Spring Movie", "kim director"));
+
+        // When / Then
+        assertEquals(List.of(1L, 2L), ids(index.search("jp", 10)));
+        assertEquals(List.of(2L), ids(index.search("jpa 활용", 10)));
+        assertEquals(List.of(1L), ids(index.search("978891", 10)));
+        assertEquals(List.of(3L), ids(index.search("KIM", 10)));
+        assertTrue(index.search("jpa spring", 10).isEmpty());
+    }
+
+    @Test
+    void 단어_전체_일치가_먼저_최대_limit_건() {
+        // Given
+        index.index(book(1L, "jpabook", "a", "1"));
+        index.index(book(2L, "jpa", "b", "2"));
+        index.index(book(3L, "jpa basic", "c", "3"));
+
+        // When
+        List<CatalogSearchHit> hits = index.search("jpa", 2);
+
+        // Then
+        assertEquals(List.of(2L, 3L), ids(hits));
+    }
+
+    @Test
+    void 수정하면_이전_단어는_빠진다() {
+        // Given
+        index.index(book(1L, "old name", "a", "1"));
+
+        // When
+        index.index(book(1L, "new name", "a", "1"));
+
+        // Then
+        assertTrue(index.search("old", 10).isEmpty());
+        assertEquals(List.of(1L), ids(index.search("new", 10)));
+        assertEquals(1, index.size());
+    }
+
+    private static List<Long> ids(List<CatalogSearchHit> hits) {
+        return hits.stream().map(CatalogSearchHit::itemId).toList();
+    }
+
+    private static Book book(Long id, String name, String author, String isbn) {
+        Book book = new Book();
+        book.setId(id);
+        book.setName(name);
+        book.setAuthor(author);
+        book.setIsbn(isbn);
+        return book;
+    }
+
+    private static Movie movie(Long id, String name, String director) {
+        Movie movie = new Movie();
+        movie.setId(id);
+        movie.setName(name);
+        movie.setDirector(director);
+        return movie;
+    }
+}
@@ -0,0 +1,185 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.repository.DeliveryRepository;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 워커 여러 개가 같은 배송 대기 건을 동시에 선점해도 각 배송이 정확히 한 번만 처리되는지,
+ * 배송 처리와 주문 취소가 겹쳐도 취소된 주문이 배송 완료되지 않는지 확인
+ * (워커마다 커밋해야 하므로 @Transactional 을 붙이지 않음)
+ */
+@SpringBootTest
+class DeliveryDispatchConcurrencyTest {
+
+    private static final int ORDERS = 300;
+    private static final int WORKERS = 6;
+
+    @Autowired DeliveryDispatchService deliveryDispatchService;
+    @Autowired OrderService orderService;
+    @Autowired ItemService itemService;
+    @Autowired MemberService memberService;
+    @Autowired DeliveryRepository deliveryRepository;
+    @Autowired JdbcTemplate jdbcTemplate;
+    @Autowired EntityManager em;
+
+    @Test
+    void 동시_워커_중복_처리_없음() throws Exception {
+        // Given
+        List<Long> orderIds = createOrders();
+        List<Long> deliveryIds = em.createQuery("select o.delivery.id from Order o where o.id in :ids", Long.class)
+                .setParameter("ids", orderIds)
+                .getResultList();
+
+        // When
+        Map<Long, AtomicInteger> handled = new ConcurrentHashMap<>();
+        DeliveryHandler handler = id -> handled.computeIfAbsent(id, k -> new AtomicInteger()).incrementAndGet();
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < WORKERS; i++) {
+                String owner = "test-worker-" + i;
+                results.add(executor.submit(() -> {
+                    while (deliveryDispatchService.dispatchOnce(owner, handler) > 0) {
+                        // 처리할 배송이 없을 때까지 반복
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        }
+
+        // Then
+        for (Long deliveryId : deliveryIds) {
+            AtomicInteger count = handled.get(deliveryId);
+            assertNotNull(count, "처리되지 않은 배송 id=" + deliveryId);
+            assertEquals(1, count.get(), "중복 처리된 배송 id=" + deliveryId);
+        }
+        List<DeliveryStatus> statuses = em.createQuery(
+                        "select distinct d.status from Delivery d where d.id in :ids", DeliveryStatus.class)
+                .setParameter("ids", deliveryIds)
+                .getResultList();
+        assertEquals(List.of(DeliveryStatus.COMP), statuses);
+    }
+
+    @Test
+    void 배송_처리_중인_주문은_취소_불가() {
+        // Given
+        Long orderId = createOrders(1).get(0);
+        Long deliveryId = deliveryIdOf(orderId);
+
+        // When - 선점이 커밋되고 핸들러가 처리하는 도중에 취소 시도
+        List<RuntimeException> cancelFailures = new ArrayList<>();
+        dispatchUntilHandled(deliveryId, id -> {
+            if (id.equals(deliveryId)) {
+                try {
+                    orderService.cancelOrder(orderId);
+                } catch (RuntimeException e) {
+                    cancelFailures.add(e);
+                }
+            }
+        });
+
+        // Then
+        assertEquals(1, cancelFailures.size());
+        assertInstanceOf(IllegalStateException.class, cancelFailures.get(0));
+        assertEquals(OrderStatus.ORDER, orderStatus(orderId));
+        assertEquals(DeliveryStatus.COMP, deliveryStatus(deliveryId));
+    }
+
+    @Test
+    void 처리_도중_취소된_주문의_배송은_완료하지_않음() {
+        // Given
+        Long orderId = createOrders(1).get(0);
+        Long deliveryId = deliveryIdOf(orderId);
+
+        // When - 선점 검사 전에 읽은 취소가 끼어든 경우 (잠금을 거치지 않고 주문 상태만 바뀜)
+        dispatchUntilHandled(deliveryId, id -> {
+            if (id.equals(deliveryId)) {
+                jdbcTemplate.update("update orders set status = 'CANCEL' where order_id = ?", orderId);
+            }
+        });
+
+        // Then
+        assertEquals(DeliveryStatus.READY, deliveryStatus(deliveryId));
+    }
+
+    @Test
+    void 취소된_주문의_배송은_선점하지_않고_대기_건수에서_제외() {
+        // Given
+        Long orderId = createOrders(1).get(0);
+        Long deliveryId = deliveryIdOf(orderId);
+        long before = deliveryRepository.findReadyBacklog().getCount();
+
+        // When
+        orderService.cancelOrder(orderId);
+
+        // Then
+        assertEquals(before - 1, deliveryRepository.findReadyBacklog().getCount());
+        List<Long> handled = new ArrayList<>();
+        while (deliveryDispatchService.dispatchOnce("test-worker", handled::add) > 0) {
+            // 처리할 배송이 없을 때까지 반복
+        }
+        assertFalse(handled.contains(deliveryId));
+        assertEquals(DeliveryStatus.READY, deliveryStatus(deliveryId));
+    }
+
+    /** 지정한 배송이 핸들러에 넘어올 때까지 배송 처리 반복 (다른 테스트가 남긴 대기 건도 같이 처리됨) */
+    private void dispatchUntilHandled(Long deliveryId, DeliveryHandler handler) {
+        List<Long> handled = new ArrayList<>();
+        DeliveryHandler recording = id -> {
+            handled.add(id);
+            handler.dispatch(id);
+        };
+        while (!handled.contains(deliveryId)) {
+            assertTrue(deliveryDispatchService.dispatchOnce("test-worker", recording) > 0 || handled.contains(deliveryId),
+                    "배송이 선점되지 않음 id=" + deliveryId);
+        }
+    }
+
+    private Long deliveryIdOf(Long orderId) {
+        return jdbcTemplate.queryForObject("select delivery_id from orders where order_id = ?", Long.class, orderId);
+    }
+
+    private OrderStatus orderStatus(Long orderId) {
+        return OrderStatus.valueOf(jdbcTemplate.queryForObject(
+                "select status from orders where order_id = ?", String.class, orderId));
+    }
+
+    private DeliveryStatus deliveryStatus(Long deliveryId) {
+        return DeliveryStatus.valueOf(jdbcTemplate.queryForObject(
+                "select status from delivery where delivery_id = ?", String.class, deliveryId));
+    }
+
+    private List<Long> createOrders() {
+        return createOrders(ORDERS);
+    }
+
+    private List<Long> createOrders(int orders) {
+        Long memberId = Fixtures.joinMember(memberService, Fixtures.uniqueName("dispatch"));
+        Long bookId = Fixtures.saveBook(itemService, "dispatch book", 10000, orders);
+
+        List<Long> orderIds = new ArrayList<>(orders);
+        for (int i = 0; i < orders; i++) {
+            orderIds.add(orderService.order(memberId, bookId, 1));
+        }
+        return orderIds;
+    }
+}
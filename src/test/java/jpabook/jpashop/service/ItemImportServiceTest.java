@@ -0,0 +1,144 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.item.Album;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.domain.item.Item;
+import jpabook.jpashop.search.CatalogIndex;
+import jpabook.jpashop.search.CatalogSearchHit;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 상품 일괄 등록: CSV/JSONL 읽기, 청크 경계, 수정 대상 검사
+ * (청크마다 커밋하므로 @Transactional 을 붙이지 않음 - 이름에 실행마다 다른 접두사를 붙여 구분)
+ */
+@SpringBootTest
+class ItemImportServiceTest {
+
+    @Autowired ItemImportService itemImportService;
+    @Autowired ItemService itemService;
+    @Autowired CatalogIndex catalogIndex;
+    @Autowired EntityManager em;
+
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        prefix = "import-" + UUID.randomUUID() + "-";
+    }
+
+    @Test
+    void CSV_따옴표와_빈_칸() throws Exception {
+        // Given
+        String csv = "dtype,name,price,stockQuantity,author,isbn,artist\n"
+                + "B,\"" + prefix + "JPA, 2판 \"\"개정\"\"\",10000,5,김영한,978-1,\n"
+                + "\n"
+                + "A," + prefix + "album,20000,3,,,아이유\n";
+
+        // When
+        ItemImportResult result = importItems(csv, ItemImportService.Format.CSV);
+
+        // Then
+        assertEquals(2, result.getInserted());
+        assertEquals(0, result.getUpdated());
+        Book book = (Book) findByName(prefix + "JPA, 2판 \"개정\"");
+        assertEquals(10000, book.getPrice());
+        assertEquals("김영한", book.getAuthor());
+        assertEquals("978-1", book.getIsbn());
+        Album album = (Album) findByName(prefix + "album");
+        assertEquals("아이유", album.getArtist());
+        assertNull(album.getEtc());
+    }
+
+    @Test
+    void JSONL_청크_경계를_넘어_등록() throws Exception {
+        // Given
+        int rows = ItemImportService.CHUNK_SIZE + 5;
+        StringBuilder jsonl = new StringBuilder();
+        for (int i = 0; i < rows; i++) {
+            jsonl.append("{\"dtype\":\"M\",\"name\":\"").append(prefix).append(i)
+                    .append("\",\"price\":1000,\"stockQuantity\":1,\"director\":\"kim\"}\n");
+        }
+
+        // When
+        ItemImportResult result = importItems(jsonl.toString(), ItemImportService.Format.JSONL);
+
+        // Then
+        assertEquals(rows, result.getInserted());
+        assertEquals(rows, em.createQuery("select count(i) from Item i where i.name like :prefix", Long.class)
+                .setParameter("prefix", prefix + "%")
+                .getSingleResult());
+    }
+
+    @Test
+    void 같은_종류만_수정하고_없는_id와_종류가_다른_id는_결과로_알림() throws Exception {
+        // Given
+        Book book = new Book();
+        book.setName(prefix + "book");
+        book.setAuthor("kim");
+        itemService.saveItem(book);
+        Album album = new Album();
+        album.setName(prefix + "album");
+        album.setArtist("lee");
+        itemService.saveItem(album);
+        long missingId = Long.MAX_VALUE;
+
+        String jsonl = String.join("\n",
+                "{\"id\":" + book.getId() + ",\"dtype\":\"B\",\"name\":\"" + prefix + "book2\",\"price\":300,\"stockQuantity\":7,\"author\":\"park\"}",
+                "{\"id\":" + album.getId() + ",\"dtype\":\"B\",\"name\":\"" + prefix + "wrong\",\"price\":1,\"stockQuantity\":1,\"author\":\"x\"}",
+                "{\"id\":" + missingId + ",\"dtype\":\"B\",\"name\":\"" + prefix + "missing\",\"price\":1,\"stockQuantity\":1}");
+
+        // When
+        ItemImportResult result = importItems(jsonl, ItemImportService.Format.JSONL);
+
+        // Then
+        assertEquals(1, result.getUpdated());
+        assertEquals(List.of(album.getId()), result.getTypeMismatchIds());
+        assertEquals(List.of(missingId), result.getNotFoundIds());
+
+        Book updatedBook = (Book) itemService.findOne(book.getId());
+        assertEquals(prefix + "book2", updatedBook.getName());
+        assertEquals("park", updatedBook.getAuthor());
+        assertEquals(7, updatedBook.getStockQuantity());
+        Album untouched = (Album) itemService.findOne(album.getId());
+        assertEquals(prefix + "album", untouched.getName());
+        assertEquals("lee", untouched.getArtist());
+
+        // 검색 색인에는 실제로 수정된 행만 반영
+        assertEquals(List.of(book.getId()), searchIds(prefix + "book2"));
+        assertTrue(searchIds(prefix + "wrong").isEmpty());
+        assertTrue(searchIds(prefix + "missing").isEmpty());
+        assertEquals(List.of(album.getId()), searchIds(prefix + "album"));
+    }
+
+    private List<Long> searchIds(String query) {
+        return catalogIndex.search(query, 10).stream().map(CatalogSearchHit::itemId).toList();
+    }
+
+    @Test
+    void CSV_한_줄_나누기() {
+        assertArrayEquals(new String[]{"a", "b, c", "say \"hi\"", ""},
+                ItemImportService.parseCsvLine("a,\"b, c\",\"say \"\"hi\"\"\","));
+    }
+
+    private ItemImportResult importItems(String content, ItemImportService.Format format) throws Exception {
+        return itemImportService.importItems(
+                new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format);
+    }
+
+    private Item findByName(String name) {
+        return em.createQuery("select i from Item i where i.name = :name", Item.class)
+                .setParameter("name", name)
+                .getSingleResult();
+    }
+}
@@ -0,0 +1,124 @@
+package jpabook.jpashop.service;
+
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.domain.DeliveryStatus;
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.OrderStatus;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 주문 일괄 취소: 청크 경계, 배송 완료 제외, 상품별 재고 복구, 대상 회원 한정
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@Transactional
+class OrderBulkCancelServiceTest {
+
+    private static final int ORDERS = OrderBulkCancelService.CHUNK_SIZE + 2; //청크 두 개에 걸치도록
+    private static final int STOCK = 10_000;
+
+    @Autowired OrderBulkCancelService orderBulkCancelService;
+    @Autowired OrderService orderService;
+    @Autowired ItemService itemService;
+    @Autowired MemberService memberService;
+    @Autowired MockMvc mockMvc;
+    @Autowired EntityManager em;
+
+    private String memberName;
+    private Long memberId;
+    private Long otherMemberId;
+    private Long bookId;
+    private Long otherBookId;
+
+    @BeforeEach
+    void setUp() {
+        memberName = Fixtures.uniqueName("bulk");
+        memberId = Fixtures.joinMember(memberService, memberName);
+        otherMemberId = Fixtures.joinMember(memberService, memberName + "x"); //이름 앞부분이 같은 다른 회원
+        bookId = Fixtures.saveBook(itemService, "bulk book", 1000, STOCK);
+        otherBookId = Fixtures.saveBook(itemService, "bulk book", 1000, STOCK);
+    }
+
+    @Test
+    void 청크_경계를_넘어_회원_주문만_취소하고_재고_복구() {
+        // Given
+        List<Long> orderIds = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            orderIds.add(orderService.order(memberId, bookId, 1));
+        }
+        Long cartOrderId = orderService.order(memberId, Map.of(bookId, 2, otherBookId, 3));
+        Long compOrderId = orderIds.get(0);
+        Long alreadyCancelledId = orderIds.get(1);
+        orderService.cancelOrder(alreadyCancelledId);
+        em.find(Order.class, compOrderId).getDelivery().setStatus(DeliveryStatus.COMP);
+        Long otherOrderId = orderService.order(otherMemberId, bookId, 1);
+        em.flush();
+        em.clear();
+
+        // When
+        BulkCancelResult result = orderBulkCancelService.cancelMemberOrders(memberName);
+        em.clear();
+
+        // Then - 이미 취소된 주문은 대상이 아니고, 배송 완료 주문은 잠금 조회에서 빠진다
+        long requested = ORDERS; //ORDERS 건 중 이미 취소된 1건 제외 + 장바구니 주문 1건
+        assertEquals(requested, result.getRequested());
+        assertEquals(requested - 1, result.getCancelled());
+        assertEquals(1, result.getSkipped());
+
+        assertEquals(OrderStatus.ORDER, em.find(Order.class, compOrderId).getStatus());
+        assertEquals(OrderStatus.CANCEL, em.find(Order.class, orderIds.get(ORDERS - 1)).getStatus());
+        assertEquals(OrderStatus.CANCEL, em.find(Order.class, cartOrderId).getStatus());
+        assertEquals(OrderStatus.ORDER, em.find(Order.class, otherOrderId).getStatus());
+
+        // 남은 주문: 배송 완료 1건 + 다른 회원 1건
+        assertEquals(STOCK - 2, itemService.findOne(bookId).getStockQuantity());
+        assertEquals(STOCK, itemService.findOne(otherBookId).getStockQuantity());
+    }
+
+    @Test
+    void 회원_이름이_비어_있으면_거절() throws Exception {
+        // Given
+        Long orderId = orderService.order(memberId, bookId, 1);
+        em.flush();
+        em.clear();
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> orderBulkCancelService.cancelMemberOrders(" "));
+        mockMvc.perform(post("/orders/bulk-cancel/search")).andExpect(status().isBadRequest());
+        mockMvc.perform(post("/orders/bulk-cancel/search").param("memberName", "")).andExpect(status().isBadRequest());
+        assertEquals(OrderStatus.ORDER, em.find(Order.class, orderId).getStatus());
+    }
+
+    @Test
+    void 와일드카드는_이름_그대로_비교() throws Exception {
+        // Given
+        Long orderId = orderService.order(memberId, bookId, 1);
+        em.flush();
+        em.clear();
+
+        // When
+        mockMvc.perform(post("/orders/bulk-cancel/search").param("memberName", "%"))
+                .andExpect(status().isOk());
+        BulkCancelResult result = orderBulkCancelService.cancelMemberOrders(memberName.substring(0, 5) + "%");
+        em.clear();
+
+        // Then
+        assertEquals(0, result.getRequested());
+        assertEquals(OrderStatus.ORDER, em.find(Order.class, orderId).getStatus());
+    }
+}
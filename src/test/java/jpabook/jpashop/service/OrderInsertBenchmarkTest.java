@@ -0,0 +1,63 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 주문 생성 insert 처리량 측정 (./gradlew benchmarkTest)
+ * 주문 1건 = orders 1 + delivery 1 + order_item 3 행
+ * 식별자 생성 전략(IdGeneration, hibernate.id.optimizer.pooled.preferred)을 바꿔가며 비교한다.
+ */
+@Tag("benchmark")
+@SpringBootTest
+class OrderInsertBenchmarkTest {
+
+    private static final Logger log = LoggerFactory.getLogger(OrderInsertBenchmarkTest.class);
+
+    private static final int WARMUP = 200;
+    private static final int ORDERS = 2000;
+    private static final int LINES = 3;
+    private static final int ROWS_PER_ORDER = 2 + LINES;
+
+    @Autowired OrderService orderService;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+
+    @Test
+    void 주문_insert_처리량() {
+        // Given
+        Long memberId = Fixtures.joinMember(memberService, Fixtures.uniqueName("bench"));
+
+        Map<Long, Integer> cart = new LinkedHashMap<>();
+        for (int i = 0; i < LINES; i++) {
+            cart.put(Fixtures.saveBook(itemService, "bench book " + i, 1000, Integer.MAX_VALUE / 2), 1);
+        }
+
+        for (int i = 0; i < WARMUP; i++) {
+            orderService.order(memberId, cart);
+        }
+
+        // When
+        long begin = System.nanoTime();
+        Long lastId = null;
+        for (int i = 0; i < ORDERS; i++) {
+            lastId = orderService.order(memberId, cart);
+        }
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+        // Then
+        assertNotNull(lastId);
+        log.info("orders={} {} orders/s {} inserts/s",
+                ORDERS, String.format("%.1f", ORDERS / seconds), String.format("%.1f", ORDERS * ROWS_PER_ORDER / seconds));
+    }
+}
@@ -0,0 +1,161 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.controller.OrderController;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * 비동기 주문 접수: 큐가 가득 찼을 때 거절, 묶음 커밋 실패 시 한 건씩 재처리, 토큰 정리, 종료 시 남은 주문 처리
+ * 설정마다 접수 서비스를 직접 만들어 시작/종료한다. (워커가 커밋하므로 @Transactional 을 붙이지 않음)
+ */
+@SpringBootTest
+class OrderIntakeServiceTest {
+
+    @Autowired OrderService orderService;
+    @Autowired OrderFacade orderFacade;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    private OrderIntakeService intake;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        memberId = Fixtures.joinMember(memberService, Fixtures.uniqueName("intake"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (intake != null) {
+            intake.stop();
+        }
+    }
+
+    @Test
+    void 큐가_가득_차면_503() throws Exception {
+        // Given - 워커가 없어서 큐가 비워지지 않음
+        intake = start(0, 2, Duration.ofMinutes(10));
+        Long itemId = saveBook(10);
+        intake.submit(memberId, itemId, 1);
+        intake.submit(memberId, itemId, 1);
+
+        // When / Then
+        assertThrows(OrderQueueFullException.class, () -> intake.submit(memberId, itemId, 1));
+        MockMvc mockMvc = MockMvcBuilders.standaloneSetup(
+                new OrderController(orderService, orderFacade, intake, memberService, itemService)).build();
+        mockMvc.perform(post("/order")
+                        .param("memberId", memberId.toString())
+                        .param("itemId", itemId.toString())
+                        .param("count", "1"))
+                .andExpect(status().isServiceUnavailable());
+    }
+
+    @Test
+    void 묶음_중_실패한_주문만_FAILED() {
+        // Given - 재고 5개에 6건 주문 → 묶음 커밋이 실패하면 한 건씩 다시 처리
+        intake = start(1, 100, Duration.ofMinutes(10));
+        Long itemId = saveBook(5);
+
+        // When
+        List<String> tokens = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            tokens.add(intake.submit(memberId, itemId, 1));
+        }
+        tokens.forEach(this::awaitFinished);
+
+        // Then
+        List<OrderTicket> tickets = tokens.stream().map(intake::findTicket).toList();
+        List<OrderTicket> completed = tickets.stream().filter(t -> t.getStatus() == OrderTicket.Status.COMPLETED).toList();
+        List<OrderTicket> failed = tickets.stream().filter(t -> t.getStatus() == OrderTicket.Status.FAILED).toList();
+        assertEquals(5, completed.size());
+        assertEquals(1, failed.size());
+        assertEquals(5, new HashSet<>(completed.stream().map(OrderTicket::getOrderId).toList()).size());
+        assertEquals(0, itemService.findOne(itemId).getStockQuantity());
+    }
+
+    @Test
+    void 처리_끝난_토큰은_큐가_계속_차_있어도_정리() {
+        // Given
+        intake = start(1, 100, Duration.ZERO);
+        Long itemId = saveBook(10_000);
+        String first = intake.submit(memberId, itemId, 1);
+        awaitFinished(first);
+
+        // When / Then - 주문이 계속 들어오는 동안에도 지워진다
+        await(() -> {
+            intake.submit(memberId, itemId, 1);
+            return intake.findTicket(first) == null;
+        }, "처리 끝난 토큰이 정리되지 않음");
+    }
+
+    @Test
+    void 종료하면_큐에_남은_주문은_FAILED() {
+        // Given
+        intake = start(0, 10, Duration.ofMinutes(10));
+        Long itemId = saveBook(10);
+        List<String> tokens = List.of(
+                intake.submit(memberId, itemId, 1),
+                intake.submit(memberId, itemId, 1));
+
+        // When
+        intake.stop();
+
+        // Then
+        tokens.forEach(token -> assertEquals(OrderTicket.Status.FAILED, intake.findTicket(token).getStatus()));
+        assertThrows(OrderQueueFullException.class, () -> intake.submit(memberId, itemId, 1));
+        assertEquals(10, itemService.findOne(itemId).getStockQuantity());
+    }
+
+    private OrderIntakeService start(int workers, int queueCapacity, Duration ticketRetention) {
+        OrderIntakeProperties properties = new OrderIntakeProperties();
+        properties.setEnabled(true);
+        properties.setWorkers(workers);
+        properties.setQueueCapacity(queueCapacity);
+        properties.setGroupSize(20);
+        properties.setTicketRetention(ticketRetention);
+        OrderIntakeService service = new OrderIntakeService(orderService, orderFacade, properties, transactionManager);
+        service.start();
+        return service;
+    }
+
+    private Long saveBook(int stock) {
+        return Fixtures.saveBook(itemService, "intake book", 1000, stock);
+    }
+
+    private void awaitFinished(String token) {
+        await(() -> intake.findTicket(token).getStatus() != OrderTicket.Status.PENDING, "주문 처리 안 됨 token=" + token);
+    }
+
+    private static void await(BooleanSupplier condition, String message) {
+        long deadline = System.currentTimeMillis() + 10_000;
+        while (!condition.getAsBoolean()) {
+            if (System.currentTimeMillis() > deadline) {
+                fail(message);
+            }
+            try {
+                Thread.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fail(e);
+            }
+        }
+    }
+}
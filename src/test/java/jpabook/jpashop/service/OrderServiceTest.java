@@ -0,0 +1,86 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.Order;
+import jpabook.jpashop.domain.exception.NotEnoughStockException;
+import jpabook.jpashop.repository.OrderRepository;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 여러 상품 주문 (조건부 UPDATE 재고 차감)
+ */
+@SpringBootTest
+@Transactional
+class OrderServiceTest {
+
+    @Autowired OrderService orderService;
+    @Autowired OrderRepository orderRepository;
+    @Autowired MemberService memberService;
+    @Autowired ItemService itemService;
+    @Autowired StockProperties stockProperties;
+
+    private StockMode originalMode;
+    private Long memberId;
+
+    @BeforeEach
+    void setUp() {
+        originalMode = stockProperties.getMode();
+        stockProperties.setMode(StockMode.CONDITIONAL_UPDATE);
+
+        memberId = Fixtures.joinMember(memberService, Fixtures.uniqueName("order-service"));
+    }
+
+    @AfterEach
+    void restoreMode() {
+        stockProperties.setMode(originalMode);
+    }
+
+    @Test
+    void 여러_상품_주문() {
+        // Given
+        Long bookA = saveBook(10);
+        Long bookB = saveBook(10);
+
+        // When
+        Long orderId = orderService.order(memberId, Map.of(bookA, 2, bookB, 3));
+
+        // Then
+        Order order = orderRepository.findOne(orderId);
+        assertEquals(2, order.getOrderItems().size());
+        assertEquals(10000 * 5, order.getTotalPrice());
+    }
+
+    @Test
+    void 없는_상품은_재고_부족이_아니라_잘못된_요청() {
+        // Given
+        Long bookA = saveBook(10);
+
+        // When / Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> orderService.order(memberId, Map.of(bookA, 1, -1L, 1)));
+        assertTrue(e.getMessage().contains("-1"));
+        assertEquals(10, itemService.findOne(bookA).getStockQuantity());
+    }
+
+    @Test
+    void 재고가_모자라면_재고_부족() {
+        // Given
+        Long bookA = saveBook(1);
+
+        // When / Then
+        assertThrows(NotEnoughStockException.class, () -> orderService.order(memberId, Map.of(bookA, 2)));
+    }
+
+    private Long saveBook(int stock) {
+        return Fixtures.saveBook(itemService, "order-service book", 10000, stock);
+    }
+}
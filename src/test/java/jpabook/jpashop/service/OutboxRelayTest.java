@@ -0,0 +1,123 @@
+package jpabook.jpashop.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManager;
+import jpabook.jpashop.repository.OutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 아웃박스 발행: 묶음 단위 발행, 발행 후 삭제, 발행 실패 시 다시 발행 (최소 한 번 전달)
+ * 애플리케이션 relay 를 멈추고, 테스트용 sink 를 쓰는 relay 를 직접 만들어 relayOnce 를 호출한다. (커밋이 필요해 @Transactional 없음)
+ */
+@SpringBootTest
+class OutboxRelayTest {
+
+    private static final int BATCH_SIZE = 3;
+
+    @Autowired OutboxRelay applicationRelay;
+    @Autowired OutboxService outboxService;
+    @Autowired OutboxRepository outboxRepository;
+    @Autowired EntityManager em;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    private final RecordingSink sink = new RecordingSink();
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        applicationRelay.stop();
+        OutboxProperties properties = new OutboxProperties();
+        properties.setRelayEnabled(false);
+        properties.setBatchSize(BATCH_SIZE);
+        relay = new OutboxRelay(outboxRepository, sink, properties, em, transactionManager, new SimpleMeterRegistry());
+        // 다른 테스트가 남긴 이벤트 비우기
+        while (relay.relayOnce() > 0) {
+        }
+        sink.published.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        applicationRelay.start();
+    }
+
+    @Test
+    void 묶음_단위로_발행하고_삭제() {
+        // Given
+        List<Long> orderIds = saveCancelledEvents(7);
+
+        // When
+        List<Integer> batches = new ArrayList<>();
+        int relayed;
+        while ((relayed = relay.relayOnce()) > 0) {
+            batches.add(relayed);
+        }
+
+        // Then
+        assertEquals(List.of(3, 3, 1), batches);
+        assertEquals(List.of(3, 3, 1), sink.batchSizes);
+        assertEquals(orderIds, sink.published.stream().map(OutboxMessage::aggregateId).sorted().toList());
+        assertTrue(sink.published.stream().allMatch(m -> m.eventType().equals("ORDER_CANCELLED")));
+        assertEquals(0, outboxRepository.count());
+    }
+
+    @Test
+    void 발행_실패하면_지우지_않고_다시_발행() {
+        // Given - 첫 묶음은 sink 에 전달된 뒤 예외
+        List<Long> orderIds = saveCancelledEvents(2);
+        sink.failNext = true;
+
+        // When
+        assertThrows(IllegalStateException.class, () -> relay.relayOnce());
+        assertEquals(2, outboxRepository.count());
+        int relayed = relay.relayOnce();
+
+        // Then - 같은 이벤트가 두 번 전달됨 (소비자는 id 로 중복 제거)
+        assertEquals(2, relayed);
+        Map<Long, Long> deliveries = sink.published.stream()
+                .collect(Collectors.groupingBy(OutboxMessage::id, Collectors.counting()));
+        assertEquals(2, deliveries.size());
+        assertTrue(deliveries.values().stream().allMatch(count -> count == 2));
+        assertEquals(orderIds, sink.published.stream().map(OutboxMessage::aggregateId).distinct().sorted().toList());
+        assertEquals(0, relay.relayOnce());
+    }
+
+    /** 서로 다른 (존재하지 않는) 주문 id 로 취소 이벤트를 커밋 */
+    private List<Long> saveCancelledEvents(int count) {
+        long base = -ThreadLocalRandom.current().nextLong(1_000_000, Long.MAX_VALUE / 2);
+        List<Long> orderIds = LongStream.range(0, count).map(i -> base + i).boxed().toList();
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> outboxService.ordersCancelled(orderIds));
+        return orderIds;
+    }
+
+    private static class RecordingSink implements OutboxSink {
+        final List<OutboxMessage> published = new ArrayList<>();
+        final List<Integer> batchSizes = new ArrayList<>();
+        boolean failNext;
+
+        @Override
+        public void publish(List<OutboxMessage> messages) throws Exception {
+            published.addAll(messages);
+            if (failNext) {
+                failNext = false;
+                throw new Exception("sink 장애");
+            }
+            batchSizes.add(messages.size());
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.exception.NotEnoughStockException;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.OptimisticLockingFailureException;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 한 상품에 가상 스레드로 동시 주문을 몰아서 초과 판매/갱신 손실이 없는지 확인
+ * (트랜잭션을 각 주문이 직접 커밋해야 하므로 @Transactional 을 붙이지 않음, 처리량도 기록하므로 ./gradlew benchmarkTest 로 실행)
+ */
+@Tag("benchmark")
+@SpringBootTest
+class StockConcurrencyTest {
+
+    private static final Logger log = LoggerFactory.getLogger(StockConcurrencyTest.class);
+
+    private static final int STOCK = 100;
+    private static final int REQUESTS = 300;
+
+    @Autowired OrderFacade orderFacade;
+    @Autowired ItemService itemService;
+    @Autowired MemberService memberService;
+    @Autowired StockProperties stockProperties;
+
+    private StockMode originalMode;
+
+    @BeforeEach
+    void saveMode() {
+        originalMode = stockProperties.getMode();
+    }
+
+    @AfterEach
+    void restoreMode() {
+        stockProperties.setMode(originalMode);
+    }
+
+    @Test
+    void 조건부_UPDATE_동시_주문() throws Exception {
+        // Given
+        stockProperties.setMode(StockMode.CONDITIONAL_UPDATE);
+
+        // When
+        Result result = hammer();
+
+        // Then
+        assertEquals(STOCK, result.success, "재고만큼만 주문 성공해야 한다");
+        assertEquals(0, result.remaining);
+        assertEquals(REQUESTS - STOCK, result.notEnoughStock);
+    }
+
+    @Test
+    void 낙관적_락_동시_주문() throws Exception {
+        // Given
+        stockProperties.setMode(StockMode.OPTIMISTIC);
+
+        // When
+        Result result = hammer();
+
+        // Then (재시도 한도를 넘긴 충돌은 실패로 끝날 수 있지만 재고와 성공 건수는 항상 맞아야 한다)
+        assertTrue(result.remaining >= 0, "재고가 음수가 되면 안 된다");
+        assertEquals(STOCK, result.success + result.remaining, "성공한 주문 수만큼만 재고가 줄어야 한다");
+    }
+
+    @Test
+    void 묶음_차감_동시_주문() throws Exception {
+        // Given
+        stockProperties.setMode(StockMode.COALESCED);
+
+        // When
+        Result result = hammer();
+
+        // Then
+        assertEquals(STOCK, result.success, "재고만큼만 주문 성공해야 한다");
+        assertEquals(0, result.remaining);
+        assertEquals(REQUESTS - STOCK, result.notEnoughStock);
+    }
+
+    private Result hammer() throws InterruptedException, ExecutionException {
+        Long memberId = Fixtures.joinMember(memberService, Fixtures.uniqueName("stock"));
+        Long itemId = Fixtures.saveBook(itemService, "hot item", 10000, STOCK);
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Outcome>> futures = new ArrayList<>();
+
+        long begin;
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < REQUESTS; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        orderFacade.order(memberId, itemId, 1);
+                        return Outcome.SUCCESS;
+                    } catch (NotEnoughStockException e) {
+                        return Outcome.NOT_ENOUGH_STOCK;
+                    } catch (OptimisticLockingFailureException e) {
+                        return Outcome.CONFLICT;
+                    }
+                }));
+            }
+            begin = System.nanoTime();
+            start.countDown();
+        } // close() 가 모든 작업이 끝날 때까지 기다림
+        double seconds = (System.nanoTime() - begin) / 1_000_000_000.0;
+
+        // 예상하지 못한 예외로 끝난 주문이 있으면 get() 이 ExecutionException 으로 테스트를 실패시킴
+        Map<Outcome, Integer> outcomes = new EnumMap<>(Outcome.class);
+        for (Future<Outcome> future : futures) {
+            outcomes.merge(future.get(), 1, Integer::sum);
+        }
+        int success = outcomes.getOrDefault(Outcome.SUCCESS, 0);
+        int notEnoughStock = outcomes.getOrDefault(Outcome.NOT_ENOUGH_STOCK, 0);
+        int conflict = outcomes.getOrDefault(Outcome.CONFLICT, 0);
+        assertEquals(REQUESTS, success + notEnoughStock + conflict);
+
+        int remaining = itemService.findOne(itemId).getStockQuantity();
+        log.info("[{}] requests={} success={} notEnoughStock={} conflict={} remaining={} {} orders/s",
+                stockProperties.getMode(), REQUESTS, success, notEnoughStock, conflict,
+                remaining, String.format("%.1f", REQUESTS / seconds));
+        return new Result(success, notEnoughStock, remaining);
+    }
+
+    private enum Outcome {
+        SUCCESS, NOT_ENOUGH_STOCK, CONFLICT
+    }
+
+    private record Result(int success, int notEnoughStock, int remaining) {
+    }
+}
@@ -0,0 +1,120 @@
+package jpabook.jpashop.service;
+
+import jpabook.jpashop.domain.exception.NotEnoughStockException;
+import jpabook.jpashop.support.Fixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * 재고 묶음 차감: 한 묶음 안의 일부 배정, 주문 실패 시 재고 복구
+ * (차감이 별도 트랜잭션으로 커밋되므로 @Transactional 을 붙이지 않음)
+ */
+@SpringBootTest
+class StockReservationCoordinatorTest {
+
+    @Autowired StockReservationCoordinator coordinator;
+    @Autowired OrderFacade orderFacade;
+    @Autowired ItemService itemService;
+    @Autowired StockProperties stockProperties;
+    @Autowired PlatformTransactionManager transactionManager;
+
+    private StockMode originalMode;
+    private Duration originalWindow;
+
+    @BeforeEach
+    void saveProperties() {
+        originalMode = stockProperties.getMode();
+        originalWindow = stockProperties.getCoalesceWindow();
+    }
+
+    @AfterEach
+    void restoreProperties() {
+        stockProperties.setMode(originalMode);
+        stockProperties.setCoalesceWindow(originalWindow);
+    }
+
+    @Test
+    void 재고가_모자라면_도착_순서대로_가능한_만큼만_배정() throws Exception {
+        // Given - 한 묶음에 3, 5, 2 개 요청이 순서대로 도착 (재고 6)
+        stockProperties.setCoalesceWindow(Duration.ofMillis(500));
+        Long itemId = saveBook(6);
+
+        // When
+        List<Future<?>> results = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int count : new int[]{3, 5, 2}) {
+                results.add(executor.submit(() -> coordinator.reserve(itemId, count)));
+                Thread.sleep(50);
+            }
+        }
+
+        // Then - 3 배정, 5 는 남은 3 보다 많아서 거절, 2 배정
+        assertDoesNotThrow(() -> results.get(0).get());
+        ExecutionException rejected = assertThrows(ExecutionException.class, () -> results.get(1).get());
+        assertInstanceOf(NotEnoughStockException.class, rejected.getCause());
+        assertDoesNotThrow(() -> results.get(2).get());
+        assertEquals(1, stock(itemId));
+    }
+
+    @Test
+    void 주문이_실패하면_차감한_재고를_되돌림() {
+        // Given
+        stockProperties.setMode(StockMode.COALESCED);
+        Long itemId = saveBook(10);
+        Long missingMemberId = -1L;
+
+        // When - 재고 차감이 커밋된 뒤 주문 트랜잭션에서 실패
+        assertThrows(IllegalArgumentException.class, () -> orderFacade.order(missingMemberId, Map.of(itemId, 4)));
+
+        // Then
+        assertEquals(10, stock(itemId));
+    }
+
+    @Test
+    void 없는_상품은_재고_부족이_아니라_잘못된_요청() {
+        // Given
+        stockProperties.setMode(StockMode.COALESCED);
+        Long missingItemId = -1L;
+
+        // When / Then
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> coordinator.reserve(missingItemId, 1));
+        assertTrue(e.getMessage().contains("-1"));
+    }
+
+    @Test
+    void 트랜잭션_안에서는_묶음_차감_대기_금지() {
+        // Given
+        Long itemId = saveBook(10);
+
+        // When / Then
+        TransactionTemplate tx = new TransactionTemplate(transactionManager);
+        assertThrows(IllegalStateException.class,
+                () -> tx.executeWithoutResult(status -> coordinator.reserve(itemId, 1)));
+        assertEquals(10, stock(itemId));
+    }
+
+    private Long saveBook(int stock) {
+        return Fixtures.saveBook(itemService, "coalesced book", 10000, stock);
+    }
+
+    private int stock(Long itemId) {
+        return itemService.findOne(itemId).getStockQuantity();
+    }
+}
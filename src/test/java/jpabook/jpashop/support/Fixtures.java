@@ -0,0 +1,51 @@
+package jpabook.jpashop.support;
+
+import jpabook.jpashop.domain.Address;
+import jpabook.jpashop.domain.Member;
+import jpabook.jpashop.domain.item.Book;
+import jpabook.jpashop.service.ItemService;
+import jpabook.jpashop.service.MemberService;
+
+import java.util.UUID;
+
+/**
+ * 테스트 준비 데이터 (회원, 상품)
+ * 테스트 데이터가 커밋되는 테스트가 많으므로 회원 이름은 uniqueName 으로 겹치지 않게 만든다.
+ */
+public final class Fixtures {
+
+    private Fixtures() {
+    }
+
+    /** prefix + "-" + UUID */
+    public static String uniqueName(String prefix) {
+        return prefix + "-" + UUID.randomUUID();
+    }
+
+    public static Member member(String name) {
+        Member member = new Member();
+        member.setName(name);
+        member.setAddress(new Address("서울", "강가", "123-123"));
+        return member;
+    }
+
+    /** 회원 가입 후 id */
+    public static Long joinMember(MemberService memberService, String name) {
+        return memberService.join(member(name));
+    }
+
+    public static Book book(String name, int price, int stockQuantity) {
+        Book book = new Book();
+        book.setName(name);
+        book.setPrice(price);
+        book.setStockQuantity(stockQuantity);
+        return book;
+    }
+
+    /** 상품 저장 후 id */
+    public static Long saveBook(ItemService itemService, String name, int price, int stockQuantity) {
+        Book book = book(name, price, stockQuantity);
+        itemService.saveItem(book);
+        return book.getId();
+    }
+}
@@ -0,0 +1,43 @@
+package jpabook.jpashop.support;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 성능 측정용 회원 데이터 생성기
+ * JPA 를 거치지 않고 JDBC 배치 insert 로 대량의 회원을 만든다.
+ * 이름은 prefix + 0 으로 채운 일련번호 (예: gen-00012345) 라서 앞부분 일치 검색 결과 건수를 예측할 수 있다.
+ */
+public class MemberDataGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemberDataGenerator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public static String name(String prefix, int n) {
+        return String.format("%s%08d", prefix, n);
+    }
+
+    /** prefix00000000 ~ prefix(count-1) 회원 생성 */
+    public void generate(String prefix, int count) {
+        String sql = "insert into member (member_id, name, city, street, zipcode)" +
+                " values (next value for member_seq, ?, ?, ?, ?)";
+        List<Object[]> batch = new ArrayList<>(BATCH_SIZE);
+        for (int i = 0; i < count; i++) {
+            batch.add(new Object[]{name(prefix, i), "서울", "거리 " + i, String.format("%05d", i % 100000)});
+            if (batch.size() == BATCH_SIZE) {
+                jdbcTemplate.batchUpdate(sql, batch);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            jdbcTemplate.batchUpdate(sql, batch);
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package jpabook.jpashop.support;
+
+import jpabook.jpashop.monitoring.SqlStatementCounter;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * 코드 한 덩어리가 실행한 SQL 을 모아서 개수 상한(쿼리 예산)을 검사하는 테스트 도우미
+ * SqlStatementCounter (hibernate statement_inspector) 를 그대로 사용하므로 같은 스레드에서 실행된 SQL 만 센다.
+ * 측정 범위는 호출 안에서 열고 닫으므로 테스트 수명주기와 묶을 상태가 없다.
+ *
+ * <pre>
+ * QueryBudget.assertAtMost(3, () -> mockMvc.perform(get("/orders")));
+ * </pre>
+ * 준비 데이터가 영속성 컨텍스트에 남아 있으면 지연로딩 쿼리가 안 나가므로 측정 전에 flush/clear 해야 한다.
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {
+    }
+
+    @FunctionalInterface
+    public interface SqlAction {
+        void run() throws Exception;
+    }
+
+    /** action 실행 중 나간 SQL 목록 */
+    public static List<String> capture(SqlAction action) throws Exception {
+        SqlStatementCounter.Capture capture = SqlStatementCounter.begin(true);
+        try {
+            action.run();
+        } finally {
+            SqlStatementCounter.end(capture);
+        }
+        return capture.getStatements();
+    }
+
+    /** action 실행 중 나간 SQL 이 budget 개 이하인지 검사 (넘으면 실행된 SQL 을 모두 보여준다) */
+    public static List<String> assertAtMost(int budget, SqlAction action) throws Exception {
+        List<String> statements = capture(action);
+        if (statements.size() > budget) {
+            fail("SQL " + statements.size() + "건 실행 (예산 " + budget + "건)\n"
+                    + String.join("\n", statements));
+        }
+        return statements;
+    }
+}